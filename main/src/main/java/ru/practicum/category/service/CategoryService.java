@@ -2,8 +2,7 @@ package ru.practicum.category.service;
 
 import ru.practicum.category.dto.CategoryDto;
 import ru.practicum.category.dto.NewCategoryDto;
-
-import java.util.List;
+import ru.practicum.pagination.CursorPage;
 
 public interface CategoryService {
     CategoryDto createCategory(NewCategoryDto newCategoryDto);
@@ -12,7 +11,7 @@ public interface CategoryService {
 
     CategoryDto updateCategory(Long id, NewCategoryDto newCategoryDto);
 
-    List<CategoryDto> getCategories(Integer from, Integer size);
+    CursorPage<CategoryDto> getCategories(Integer from, Integer size, String cursor);
 
     CategoryDto getCategory(Long id);
 }
@@ -2,7 +2,6 @@ package ru.practicum.category.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -13,11 +12,15 @@ import ru.practicum.category.dto.mapper.CategoryMapper;
 import ru.practicum.category.model.Category;
 import ru.practicum.category.repository.CategoryRepository;
 import ru.practicum.event.repository.EventRepository;
+import ru.practicum.event.search.PublishedEventIndex;
+import ru.practicum.event.service.EventSearchProjection;
 import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.NotFoundException;
+import ru.practicum.pagination.CursorPage;
+import ru.practicum.pagination.OffsetPageRequest;
+import ru.practicum.pagination.PageCursor;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Transactional(readOnly = true)
 @Slf4j
@@ -26,6 +29,8 @@ import java.util.stream.Collectors;
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final EventRepository eventRepository;
+    private final EventSearchProjection eventSearchProjection;
+    private final PublishedEventIndex publishedEventIndex;
 
     @Transactional
     @Override
@@ -61,19 +66,23 @@ public class CategoryServiceImpl implements CategoryService {
                     });
 
             category.setName(newCategoryDto.getName());
+            eventSearchProjection.renameCategory(id, category.getName());
+            publishedEventIndex.onCategoryRenamed(id, category.getName());
         }
 
         return CategoryMapper.toCategoryDto(categoryRepository.save(category));
     }
 
     @Override
-    public List<CategoryDto> getCategories(Integer from, Integer size) {
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by("id").ascending());
+    public CursorPage<CategoryDto> getCategories(Integer from, Integer size, String cursor) {
+        PageCursor pageCursor = PageCursor.decodeId(cursor);
+        Pageable pageable = OffsetPageRequest.forSlice(pageCursor, from, size, Sort.by("id").ascending());
 
-        return categoryRepository.findAll(pageable)
-                .stream()
-                .map(CategoryMapper::toCategoryDto)
-                .collect(Collectors.toList());
+        List<Category> categories = categoryRepository.findByIdGreaterThan(
+                pageCursor != null ? pageCursor.afterId() : 0L, pageable);
+
+        return CursorPage.of(categories, size, category -> PageCursor.ofId(category.getId()))
+                .map(CategoryMapper::toCategoryDto);
     }
 
     @Override
@@ -4,10 +4,11 @@ import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.compilation.dto.CompilationDto;
 import ru.practicum.compilation.service.CompilationService;
+import ru.practicum.event.dto.EventShortDto;
 
 import java.util.List;
 
@@ -19,17 +20,28 @@ public class CompilationPublicController {
     private final CompilationService compilationService;
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<CompilationDto> getCompilations(@RequestParam(required = false) Boolean pinned,
-                                                @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                                @RequestParam(defaultValue = "10") @Positive Integer size) {
+    public ResponseEntity<List<CompilationDto>> getCompilations(@RequestParam(required = false) Boolean pinned,
+                                                                @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                                @RequestParam(defaultValue = "10") @Positive Integer size,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) @Positive Integer eventsSize) {
         log.info("GET /compilations");
-        return compilationService.getCompilations(pinned, from, size);
+        return compilationService.getCompilations(pinned, from, size, cursor, eventsSize).toResponse();
     }
 
     @GetMapping("/{compId}")
-    public CompilationDto getCompilationById(@PathVariable("compId") Long id) {
+    public CompilationDto getCompilationById(@PathVariable("compId") Long id,
+                                             @RequestParam(required = false) @Positive Integer eventsSize) {
         log.info("GET /compilations/{}", id);
-        return compilationService.getCompilationById(id);
+        return compilationService.getCompilationById(id, eventsSize);
+    }
+
+    @GetMapping("/{compId}/events")
+    public ResponseEntity<List<EventShortDto>> getCompilationEvents(@PathVariable("compId") Long id,
+                                                                    @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                                    @RequestParam(defaultValue = "10") @Positive Integer size,
+                                                                    @RequestParam(required = false) String cursor) {
+        log.info("GET /compilations/{}/events", id);
+        return compilationService.getCompilationEvents(id, from, size, cursor).toResponse();
     }
 }
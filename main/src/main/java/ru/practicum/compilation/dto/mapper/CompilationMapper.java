@@ -4,22 +4,19 @@ import lombok.experimental.UtilityClass;
 import ru.practicum.compilation.dto.CompilationDto;
 import ru.practicum.compilation.dto.NewCompilationDto;
 import ru.practicum.compilation.model.Compilation;
-import ru.practicum.event.dto.mapper.EventMapper;
+import ru.practicum.event.dto.EventShortDto;
 
 import java.util.HashSet;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @UtilityClass
 public class CompilationMapper {
-    public static CompilationDto toCompilationDto(Compilation compilation) {
+    public static CompilationDto toCompilationDto(Compilation compilation, Set<EventShortDto> events) {
         return new CompilationDto(
                 compilation.getId(),
                 compilation.getTitle(),
                 compilation.getPinned(),
-                compilation.getEvents()
-                        .stream()
-                        .map(EventMapper::toEventShortDto)
-                        .collect(Collectors.toSet())
+                events
         );
     }
 
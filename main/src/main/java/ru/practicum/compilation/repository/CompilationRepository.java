@@ -1,10 +1,37 @@
 package ru.practicum.compilation.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.compilation.model.Compilation;
+import ru.practicum.compilation.view.CompilationEventView;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface CompilationRepository extends JpaRepository<Compilation, Long> {
-    Page<Compilation> findAllByPinned(boolean pinned, Pageable pageable);
+    List<Compilation> findByIdGreaterThan(Long id, Pageable pageable);
+
+    List<Compilation> findByPinnedAndIdGreaterThan(boolean pinned, Long id, Pageable pageable);
+
+    /**
+     * Состав подборок одним запросом к compilations_events, без загрузки самих событий.
+     */
+    @Query("SELECT new ru.practicum.compilation.view.CompilationEventView(c.id, e.id) " +
+            "FROM Compilation AS c JOIN c.events AS e WHERE c.id IN :compilationIds ORDER BY c.id, e.id")
+    List<CompilationEventView> findEventIds(Collection<Long> compilationIds);
+
+    /**
+     * Первые eventsSize событий каждой подборки, лишние отсекаются в БД.
+     */
+    @Query("SELECT new ru.practicum.compilation.view.CompilationEventView(r.compilationId, r.eventId) " +
+            "FROM (SELECT c.id AS compilationId, e.id AS eventId, " +
+            "ROW_NUMBER() OVER (PARTITION BY c.id ORDER BY e.id) AS position " +
+            "FROM Compilation AS c JOIN c.events AS e WHERE c.id IN :compilationIds) AS r " +
+            "WHERE r.position <= :eventsSize ORDER BY r.compilationId, r.eventId")
+    List<CompilationEventView> findFirstEventIds(Collection<Long> compilationIds, long eventsSize);
+
+    @Query("SELECT e.id FROM Compilation AS c JOIN c.events AS e " +
+            "WHERE c.id = :compilationId AND e.id > :afterId ORDER BY e.id")
+    List<Long> findEventIds(Long compilationId, long afterId, Pageable pageable);
 }
@@ -3,8 +3,8 @@ package ru.practicum.compilation.service;
 import ru.practicum.compilation.dto.CompilationDto;
 import ru.practicum.compilation.dto.NewCompilationDto;
 import ru.practicum.compilation.dto.UpdateCompilationRequest;
-
-import java.util.List;
+import ru.practicum.event.dto.EventShortDto;
+import ru.practicum.pagination.CursorPage;
 
 public interface CompilationService {
     CompilationDto createCompilation(NewCompilationDto newCompilationDto);
@@ -13,7 +13,10 @@ public interface CompilationService {
 
     CompilationDto updateCompilation(Long id, UpdateCompilationRequest updateCompilationRequest);
 
-    List<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size);
+    CursorPage<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size, String cursor,
+                                               Integer eventsSize);
+
+    CompilationDto getCompilationById(Long id, Integer eventsSize);
 
-    CompilationDto getCompilationById(Long id);
+    CursorPage<EventShortDto> getCompilationEvents(Long id, Integer from, Integer size, String cursor);
 }
@@ -2,9 +2,8 @@ package ru.practicum.compilation.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.compilation.dto.CompilationDto;
@@ -13,13 +12,19 @@ import ru.practicum.compilation.dto.UpdateCompilationRequest;
 import ru.practicum.compilation.dto.mapper.CompilationMapper;
 import ru.practicum.compilation.model.Compilation;
 import ru.practicum.compilation.repository.CompilationRepository;
+import ru.practicum.compilation.view.CompilationEventView;
+import ru.practicum.event.dto.EventShortDto;
+import ru.practicum.event.dto.mapper.EventMapper;
 import ru.practicum.event.model.Event;
 import ru.practicum.event.repository.EventRepository;
+import ru.practicum.event.repository.EventSearchRepository;
+import ru.practicum.event.view.EventSearchView;
 import ru.practicum.exception.NotFoundException;
+import ru.practicum.pagination.CursorPage;
+import ru.practicum.pagination.OffsetPageRequest;
+import ru.practicum.pagination.PageCursor;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Transactional(readOnly = true)
@@ -29,6 +34,7 @@ import java.util.stream.Collectors;
 public class CompilationServiceImpl implements CompilationService {
     private final CompilationRepository compilationRepository;
     private final EventRepository eventRepository;
+    private final EventSearchRepository eventSearchRepository;
 
     @Transactional
     @Override
@@ -40,7 +46,7 @@ public class CompilationServiceImpl implements CompilationService {
             compilation.setEvents(events);
         }
 
-        return CompilationMapper.toCompilationDto(compilationRepository.save(compilation));
+        return toCompilationDto(compilationRepository.save(compilation), null);
     }
 
     @Transactional
@@ -59,7 +65,7 @@ public class CompilationServiceImpl implements CompilationService {
         Compilation compilation = validateCompilation(id);
 
         if (updateCompilationRequest == null) {
-            return CompilationMapper.toCompilationDto(compilationRepository.findById(id).get());
+            return toCompilationDto(compilation, null);
         }
 
         if (updateCompilationRequest.getEvents() != null) {
@@ -77,30 +83,114 @@ public class CompilationServiceImpl implements CompilationService {
             compilation.setTitle(updateCompilationRequest.getTitle());
         }
 
-        return CompilationMapper.toCompilationDto(compilationRepository.save(compilation));
+        return toCompilationDto(compilationRepository.save(compilation), null);
     }
 
     @Override
-    public List<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size) {
-        Pageable pageable = PageRequest.of(from / size, size);
+    public CursorPage<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size, String cursor,
+                                                      Integer eventsSize) {
+        PageCursor pageCursor = PageCursor.decodeId(cursor);
+        long afterId = pageCursor != null ? pageCursor.afterId() : 0L;
+        Pageable pageable = OffsetPageRequest.forSlice(pageCursor, from, size, Sort.by("id").ascending());
 
-        Page<Compilation> compilations;
+        List<Compilation> compilations;
         if (pinned != null) {
-            compilations = compilationRepository.findAllByPinned(pinned, pageable);
+            compilations = compilationRepository.findByPinnedAndIdGreaterThan(pinned, afterId, pageable);
         } else {
-            compilations = compilationRepository.findAll(pageable);
+            compilations = compilationRepository.findByIdGreaterThan(afterId, pageable);
         }
 
-        return compilations.stream()
-                .map(CompilationMapper::toCompilationDto)
-                .collect(Collectors.toList());
+        CursorPage<Compilation> page = CursorPage.of(compilations, size,
+                compilation -> PageCursor.ofId(compilation.getId()));
+        Map<Long, CompilationDto> dtos = toCompilationDtos(page.content(), eventsSize);
+
+        return page.map(compilation -> dtos.get(compilation.getId()));
     }
 
     @Override
-    public CompilationDto getCompilationById(Long id) {
+    public CompilationDto getCompilationById(Long id, Integer eventsSize) {
         Compilation compilation = validateCompilation(id);
 
-        return CompilationMapper.toCompilationDto(compilation);
+        return toCompilationDto(compilation, eventsSize);
+    }
+
+    @Override
+    public CursorPage<EventShortDto> getCompilationEvents(Long id, Integer from, Integer size, String cursor) {
+        validateCompilation(id);
+
+        PageCursor pageCursor = PageCursor.decodeId(cursor);
+        long afterId = pageCursor != null ? pageCursor.afterId() : 0L;
+        Pageable pageable = OffsetPageRequest.forSlice(pageCursor, from, size, Sort.unsorted());
+
+        CursorPage<Long> page = CursorPage.of(compilationRepository.findEventIds(id, afterId, pageable), size,
+                PageCursor::ofId);
+        Map<Long, EventShortDto> events = findEvents(page.content());
+
+        return page.map(events::get);
+    }
+
+    private CompilationDto toCompilationDto(Compilation compilation, Integer eventsSize) {
+        return toCompilationDtos(List.of(compilation), eventsSize).get(compilation.getId());
+    }
+
+    /**
+     * Собирает подборки постоянным числом запросов: состав всех подборок, события из event_search
+     * вместе с просмотрами и, если в подборках есть неопубликованные события, их сущности.
+     * eventsSize ограничивает число событий каждой подборки, остальные доступны постранично.
+     */
+    private Map<Long, CompilationDto> toCompilationDtos(List<Compilation> compilations, Integer eventsSize) {
+        Map<Long, List<Long>> eventIds = new HashMap<>();
+        if (!compilations.isEmpty()) {
+            List<Long> compilationIds = compilations.stream().map(Compilation::getId).toList();
+            List<CompilationEventView> rows = eventsSize == null
+                    ? compilationRepository.findEventIds(compilationIds)
+                    : compilationRepository.findFirstEventIds(compilationIds, eventsSize);
+            for (CompilationEventView row : rows) {
+                eventIds.computeIfAbsent(row.compilationId(), compilationId -> new ArrayList<>()).add(row.eventId());
+            }
+        }
+
+        Map<Long, EventShortDto> events = findEvents(eventIds.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toSet()));
+
+        Map<Long, CompilationDto> dtos = new HashMap<>();
+        for (Compilation compilation : compilations) {
+            Set<EventShortDto> compilationEvents = eventIds.getOrDefault(compilation.getId(), List.of()).stream()
+                    .map(events::get)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            dtos.put(compilation.getId(), CompilationMapper.toCompilationDto(compilation, compilationEvents));
+        }
+        return dtos;
+    }
+
+    /**
+     * Опубликованные события читаются из event_search, остальные в нём отсутствуют и собираются из сущностей.
+     * Просмотры считаются только у опубликованных событий, у остальных они нулевые.
+     */
+    private Map<Long, EventShortDto> findEvents(Collection<Long> eventIds) {
+        Map<Long, EventShortDto> events = new HashMap<>();
+        if (eventIds.isEmpty()) {
+            return events;
+        }
+
+        for (EventSearchView view : eventSearchRepository.findSearchViewsByIds(eventIds)) {
+            EventShortDto dto = EventMapper.toEventShortDto(view.event());
+            dto.setViews(view.views());
+            events.put(dto.getId(), dto);
+        }
+
+        List<Long> missing = eventIds.stream()
+                .filter(eventId -> !events.containsKey(eventId))
+                .toList();
+        if (!missing.isEmpty()) {
+            for (Event event : eventRepository.findByIdIn(missing)) {
+                EventShortDto dto = EventMapper.toEventShortDto(event);
+                dto.setViews(0L);
+                events.put(dto.getId(), dto);
+            }
+        }
+        return events;
     }
 
     private Compilation validateCompilation(Long id) {
@@ -0,0 +1,4 @@
+package ru.practicum.compilation.view;
+
+public record CompilationEventView(Long compilationId, Long eventId) {
+}
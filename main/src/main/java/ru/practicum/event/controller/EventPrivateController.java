@@ -6,12 +6,15 @@ import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.event.dto.*;
 import ru.practicum.event.service.EventService;
 import ru.practicum.request.dto.ParticipationRequestDto;
+import ru.practicum.request.status.RequestStatus;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -21,11 +24,12 @@ public class EventPrivateController {
     private final EventService eventService;
 
     @GetMapping
-    public List<EventShortDto> getEventsByUserId(@PathVariable("userId") Long userId,
-                                                 @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                                 @RequestParam(defaultValue = "10") @Positive Integer size) {
+    public ResponseEntity<List<EventShortDto>> getEventsByUserId(@PathVariable("userId") Long userId,
+                                                                 @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                                 @RequestParam(defaultValue = "10") @Positive Integer size,
+                                                                 @RequestParam(required = false) String cursor) {
         log.info("GET /users/{}/events?from={}&size={}", userId, from, size);
-        return eventService.getEventsByUserId(userId, from, size);
+        return eventService.getEventsByUserId(userId, from, size, cursor).toResponse();
     }
 
     @ResponseStatus(HttpStatus.CREATED)
@@ -52,10 +56,20 @@ public class EventPrivateController {
     }
 
     @GetMapping("/{eventId}/requests")
-    public List<ParticipationRequestDto> getEventRequestsByUserIdAndEventId(@PathVariable(value = "userId") Long userId,
-                                                                            @PathVariable(value = "eventId") Long eventId) {
-        log.info("GET /users/{}/events/{}/requests", userId, eventId);
-        return eventService.getEventRequestsByUserIdAndEventId(userId, eventId);
+    public ResponseEntity<List<ParticipationRequestDto>> getEventRequestsByUserIdAndEventId(@PathVariable(value = "userId") Long userId,
+                                                                                            @PathVariable(value = "eventId") Long eventId,
+                                                                                            @RequestParam(required = false) List<RequestStatus> status,
+                                                                                            @RequestParam(defaultValue = "1000") @Positive Integer size,
+                                                                                            @RequestParam(required = false) String cursor) {
+        log.info("GET /users/{}/events/{}/requests?status={}&size={}", userId, eventId, status, size);
+        return eventService.getEventRequestsByUserIdAndEventId(userId, eventId, status, size, cursor).toResponse();
+    }
+
+    @GetMapping("/{eventId}/requests/summary")
+    public Map<RequestStatus, Long> getEventRequestStatusSummary(@PathVariable(value = "userId") Long userId,
+                                                                 @PathVariable(value = "eventId") Long eventId) {
+        log.info("GET /users/{}/events/{}/requests/summary", userId, eventId);
+        return eventService.getEventRequestStatusSummary(userId, eventId);
     }
 
     @PatchMapping("/{eventId}/requests")
@@ -1,12 +1,17 @@
 package ru.practicum.event.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.event.dto.EventFullDto;
 import ru.practicum.event.dto.EventShortDto;
+import ru.practicum.event.dto.EventSuggestionDto;
 import ru.practicum.event.service.EventService;
 
 import java.time.LocalDateTime;
@@ -20,7 +25,7 @@ public class EventPublicController {
     private final EventService eventService;
 
     @GetMapping
-    public List<EventShortDto> getEvents(
+    public ResponseEntity<List<EventShortDto>> getEvents(
             @RequestParam(required = false) String text,
             @RequestParam(required = false) List<Long> categories,
             @RequestParam(required = false) Boolean paid,
@@ -30,11 +35,20 @@ public class EventPublicController {
             @RequestParam(required = false) String sort,
             @RequestParam(defaultValue = "0") Integer from,
             @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor,
             HttpServletRequest request) {
         log.info("GET /events?text={}&categories={}&paid={}&rangeStart={}&rangeEnd={}&onlyAvailable={}&sort={}&from={}&size={}",
                 text, categories, paid, rangeStart, rangeEnd, onlyAvailable, sort, from, size);
 
-        return eventService.getEvents(text, categories, paid, rangeStart, rangeEnd, onlyAvailable, sort, from, size, request);
+        return eventService.getEvents(text, categories, paid, rangeStart, rangeEnd, onlyAvailable, sort, from, size, cursor, request)
+                .toResponse();
+    }
+
+    @GetMapping("/suggest")
+    public List<EventSuggestionDto> suggestEvents(@RequestParam(name = "q") @NotBlank String query,
+                                                  @RequestParam(defaultValue = "10") @Positive @Max(50) Integer size) {
+        log.info("GET /events/suggest?q={}&size={}", query, size);
+        return eventService.suggestEvents(query, size);
     }
 
     @GetMapping("/{id}")
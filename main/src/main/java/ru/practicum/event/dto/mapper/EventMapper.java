@@ -1,6 +1,7 @@
 package ru.practicum.event.dto.mapper;
 
 import lombok.experimental.UtilityClass;
+import ru.practicum.category.dto.CategoryDto;
 import ru.practicum.category.dto.mapper.CategoryMapper;
 import ru.practicum.category.model.Category;
 import ru.practicum.event.dto.EventFullDto;
@@ -8,7 +9,9 @@ import ru.practicum.event.dto.EventShortDto;
 import ru.practicum.event.dto.NewEventDto;
 import ru.practicum.event.model.Event;
 import ru.practicum.event.state.EventState;
+import ru.practicum.event.view.EventShortView;
 import ru.practicum.location.dto.mapper.LocationMapper;
+import ru.practicum.user.dto.UserShortDto;
 import ru.practicum.user.dto.mapper.UserMapper;
 import ru.practicum.user.model.User;
 
@@ -70,4 +73,18 @@ public class EventMapper {
                 null
         );
     }
+
+    public static EventShortDto toEventShortDto(EventShortView view) {
+        return new EventShortDto(
+                view.id(),
+                view.annotation(),
+                view.categoryId() != null ? new CategoryDto(view.categoryId(), view.categoryName()) : null,
+                view.confirmedRequests(),
+                view.eventDate(),
+                view.initiatorId() != null ? new UserShortDto(view.initiatorId(), view.initiatorName()) : null,
+                view.paid(),
+                view.title(),
+                null
+        );
+    }
 }
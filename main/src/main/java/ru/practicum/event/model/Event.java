@@ -17,7 +17,13 @@ import java.util.Objects;
 @AllArgsConstructor
 @Getter
 @Setter
-@Table(name = "events")
+@Table(
+        name = "events",
+        indexes = {
+                @Index(name = "ix_events_event_date_id", columnList = "event_date, id"),
+                @Index(name = "ix_events_initiator_id_event_date_id", columnList = "initiator_id, event_date, id")
+        }
+)
 @Entity
 public class Event {
     @Id
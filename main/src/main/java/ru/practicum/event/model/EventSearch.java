@@ -0,0 +1,82 @@
+package ru.practicum.event.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Плоская копия опубликованного события для публичного поиска и подборок: поля краткого представления,
+ * ключи фильтров, доступность и просмотры, посчитанные заранее. Строки поддерживает
+ * {@link ru.practicum.event.service.EventSearchProjection}.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Table(
+        name = "event_search",
+        indexes = {
+                @Index(name = "ix_event_search_event_date_id", columnList = "event_date, event_id"),
+                @Index(name = "ix_event_search_category_id_event_date", columnList = "category_id, event_date"),
+                @Index(name = "ix_event_search_views", columnList = "views DESC, event_id")
+        }
+)
+@Entity
+public class EventSearch {
+    @Id
+    @Column(name = "event_id")
+    private Long id;
+
+    @Column(nullable = false, length = 2000)
+    private String annotation;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "category_name", nullable = false, length = 50)
+    private String categoryName;
+
+    @Column(name = "confirmed_requests", nullable = false)
+    private Long confirmedRequests;
+
+    @Column(name = "event_date", nullable = false)
+    private LocalDateTime eventDate;
+
+    @Column(name = "initiator_id", nullable = false)
+    private Long initiatorId;
+
+    @Column(name = "initiator_name", nullable = false, length = 250)
+    private String initiatorName;
+
+    @Column(nullable = false)
+    private Boolean paid;
+
+    @Column(nullable = false, length = 120)
+    private String title;
+
+    @Column(name = "participant_limit", nullable = false)
+    private Integer participantLimit;
+
+    @Column(nullable = false)
+    private Boolean available;
+
+    @Column(nullable = false)
+    private Long views;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EventSearch eventSearch)) return false;
+        return Objects.equals(id, eventSearch.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
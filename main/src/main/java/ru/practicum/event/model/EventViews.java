@@ -0,0 +1,44 @@
+package ru.practicum.event.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Просмотры опубликованного события, перенесённые из сервиса статистики. Обновляются в фоне
+ * {@link ru.practicum.event.service.EventViewsSynchronizer} и нужны только для сортировки по просмотрам в БД.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Table(name = "event_views", indexes = @Index(name = "ix_event_views_views", columnList = "views DESC, event_id"))
+@Entity
+public class EventViews {
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long views = 0L;
+
+    @Column(name = "updated_on")
+    private LocalDateTime updatedOn;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EventViews eventViews)) return false;
+        return Objects.equals(eventId, eventViews.eventId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(eventId);
+    }
+}
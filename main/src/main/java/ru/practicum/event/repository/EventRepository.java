@@ -1,20 +1,92 @@
 package ru.practicum.event.repository;
 
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.event.model.Event;
 import ru.practicum.event.state.EventState;
+import ru.practicum.event.view.EventSearchView;
+import ru.practicum.event.view.EventTitleView;
+import ru.practicum.request.status.RequestStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
-    List<Event> findByInitiatorId(Long userId, Pageable pageable);
-
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>,
+        EventShortViewRepository, EventSliceRepository {
+    @EntityGraph(attributePaths = {"category", "initiator", "location"})
     Optional<Event> findByInitiatorIdAndId(Long userId, Long eventId);
 
+    @EntityGraph(attributePaths = {"category", "initiator", "location"})
     Optional<Event> findByIdAndState(Long id, EventState eventState);
 
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    List<Event> findByIdIn(Collection<Long> ids);
+
+    boolean existsByIdAndState(Long id, EventState eventState);
+
     Boolean existsByCategoryId(Long categoryId);
+
+    @Query("SELECT new ru.practicum.event.view.EventTitleView(e.id, e.title) FROM Event AS e " +
+            "WHERE e.state = :state AND e.id > :afterId ORDER BY e.id")
+    List<EventTitleView> findTitles(EventState state, long afterId, Limit limit);
+
+    @Query("SELECT new ru.practicum.event.view.EventSearchView(e.id, e.annotation, c.id, c.name, e.confirmedRequests, " +
+            "e.eventDate, i.id, i.name, e.paid, e.title, e.participantLimit, v.views) " +
+            "FROM Event AS e LEFT JOIN e.category AS c LEFT JOIN e.initiator AS i " +
+            "LEFT JOIN EventViews AS v ON v.eventId = e.id " +
+            "WHERE e.state = :state AND e.id > :afterId ORDER BY e.id")
+    List<EventSearchView> findSearchViews(EventState state, long afterId, Limit limit);
+
+    @Query("SELECT new ru.practicum.event.view.EventSearchView(e.id, e.annotation, c.id, c.name, e.confirmedRequests, " +
+            "e.eventDate, i.id, i.name, e.paid, e.title, e.participantLimit, v.views) " +
+            "FROM Event AS e LEFT JOIN e.category AS c LEFT JOIN e.initiator AS i " +
+            "LEFT JOIN EventViews AS v ON v.eventId = e.id " +
+            "WHERE e.state = :state AND e.id IN :ids")
+    List<EventSearchView> findSearchViewsByIds(EventState state, Collection<Long> ids);
+
+    /**
+     * Атомарно изменяет счётчик подтверждённых заявок на delta в той же транзакции, что и смена статусов заявок.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event AS e " +
+            "SET e.confirmedRequests = COALESCE(e.confirmedRequests, 0) + :delta " +
+            "WHERE e.id = :eventId")
+    int addConfirmedRequests(Long eventId, long delta);
+
+    /**
+     * Занимает count мест, только если они есть: проверка лимита и увеличение счётчика выполняются одним UPDATE
+     * под блокировкой строки события, поэтому лимит не превышается при параллельных заявках с любых узлов.
+     * Возвращает 0, если мест не хватило.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event AS e " +
+            "SET e.confirmedRequests = COALESCE(e.confirmedRequests, 0) + :count " +
+            "WHERE e.id = :eventId " +
+            "AND (COALESCE(e.participantLimit, 0) = 0 " +
+            "OR COALESCE(e.confirmedRequests, 0) + :count <= e.participantLimit)")
+    int reserveConfirmedRequests(Long eventId, long count);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event AS e SET e.confirmedRequests = :confirmedRequests WHERE e.id = :eventId")
+    int setConfirmedRequests(Long eventId, long confirmedRequests);
+
+    @Query("SELECT e.id FROM Event AS e " +
+            "WHERE COALESCE(e.confirmedRequests, 0) <> " +
+            "(SELECT COUNT(r) FROM Request AS r WHERE r.event.id = e.id AND r.status = :status)")
+    List<Long> findIdsWithConfirmedRequestsDrift(RequestStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event AS e WHERE e.id = :id")
+    Optional<Event> findByIdForUpdate(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event AS e WHERE e.id IN :ids ORDER BY e.id")
+    List<Event> findAllByIdForUpdate(Collection<Long> ids);
 }
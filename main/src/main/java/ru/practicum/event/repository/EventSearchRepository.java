@@ -0,0 +1,65 @@
+package ru.practicum.event.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.event.model.EventSearch;
+import ru.practicum.event.state.EventState;
+import ru.practicum.event.view.EventSearchView;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface EventSearchRepository extends JpaRepository<EventSearch, Long>, EventSearchShortViewRepository {
+    String INSERT_FROM_EVENTS = "INSERT INTO EventSearch (id, annotation, categoryId, categoryName, confirmedRequests, " +
+            "eventDate, initiatorId, initiatorName, paid, title, participantLimit, available, views) " +
+            "SELECT e.id, e.annotation, c.id, c.name, COALESCE(e.confirmedRequests, 0L), " +
+            "e.eventDate, i.id, i.name, e.paid, e.title, e.participantLimit, " +
+            "CASE WHEN e.participantLimit = 0 OR COALESCE(e.confirmedRequests, 0L) < e.participantLimit " +
+            "THEN true ELSE false END, " +
+            "COALESCE(v.views, 0L) " +
+            "FROM Event AS e JOIN e.category AS c JOIN e.initiator AS i " +
+            "LEFT JOIN EventViews AS v ON v.eventId = e.id " +
+            "WHERE e.state = :state ";
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM EventSearch AS s WHERE s.id IN :eventIds")
+    int deleteByIds(Collection<Long> eventIds);
+
+    /**
+     * Копирует события из events, если они в состоянии state.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(INSERT_FROM_EVENTS + "AND e.id IN :eventIds")
+    int insertFromEvents(Collection<Long> eventIds, EventState state);
+
+    @Modifying
+    @Query(INSERT_FROM_EVENTS + "AND NOT EXISTS (SELECT s.id FROM EventSearch AS s WHERE s.id = e.id)")
+    int insertMissing(EventState state);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EventSearch AS s " +
+            "SET s.views = COALESCE((SELECT v.views FROM EventViews AS v WHERE v.eventId = s.id), 0L) " +
+            "WHERE s.id IN :eventIds")
+    int copyViews(Collection<Long> eventIds);
+
+    /**
+     * Сдвигает счётчик подтверждённых заявок и пересчитывает доступность одним UPDATE по первичному ключу.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EventSearch AS s SET s.confirmedRequests = s.confirmedRequests + :delta, " +
+            "s.available = CASE WHEN s.participantLimit = 0 OR s.confirmedRequests + :delta < s.participantLimit " +
+            "THEN true ELSE false END " +
+            "WHERE s.id = :eventId")
+    int addConfirmedRequests(Long eventId, long delta);
+
+    @Modifying
+    @Query("UPDATE EventSearch AS s SET s.categoryName = :name WHERE s.categoryId = :categoryId")
+    int renameCategory(Long categoryId, String name);
+
+    @Query("SELECT new ru.practicum.event.view.EventSearchView(s.id, s.annotation, s.categoryId, s.categoryName, " +
+            "s.confirmedRequests, s.eventDate, s.initiatorId, s.initiatorName, s.paid, s.title, " +
+            "s.participantLimit, s.views) " +
+            "FROM EventSearch AS s WHERE s.id IN :eventIds")
+    List<EventSearchView> findSearchViewsByIds(Collection<Long> eventIds);
+}
@@ -0,0 +1,12 @@
+package ru.practicum.event.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.event.model.EventSearch;
+import ru.practicum.event.view.EventShortView;
+
+import java.util.List;
+
+public interface EventSearchShortViewRepository {
+    List<EventShortView> findShortViews(Specification<EventSearch> spec, Pageable pageable);
+}
@@ -0,0 +1,69 @@
+package ru.practicum.event.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.event.model.EventSearch;
+import ru.practicum.event.view.EventShortView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Страница кратких представлений из таблицы event_search: без соединений и без запроса на подсчёт.
+ * Сортировка по views дополняется id, как и в {@link EventShortViewRepositoryImpl}.
+ */
+@RequiredArgsConstructor
+public class EventSearchShortViewRepositoryImpl implements EventSearchShortViewRepository {
+    private static final String VIEWS = "views";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<EventShortView> findShortViews(Specification<EventSearch> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventShortView> query = cb.createQuery(EventShortView.class);
+        Root<EventSearch> root = query.from(EventSearch.class);
+
+        query.select(cb.construct(EventShortView.class,
+                root.get("id"),
+                root.get("annotation"),
+                root.get("categoryId"),
+                root.get("categoryName"),
+                root.get("confirmedRequests"),
+                root.get("eventDate"),
+                root.get("initiatorId"),
+                root.get("initiatorName"),
+                root.get("paid"),
+                root.get("title")));
+
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            orders.addAll(QueryUtils.toOrders(Sort.by(order), root, cb));
+            if (VIEWS.equals(order.getProperty())) {
+                orders.add(cb.asc(root.get("id")));
+            }
+        }
+        if (!orders.isEmpty()) {
+            query.orderBy(orders);
+        }
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.event.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.category.model.Category;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventViews;
+import ru.practicum.event.view.EventShortView;
+import ru.practicum.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Страница кратких представлений событий одним запросом: категория и инициатор присоединяются в том же
+ * SELECT, описание не выбирается, запрос на подсчёт общего количества не выполняется. Сортировка по views
+ * выполняется в БД по таблице event_views.
+ */
+@RequiredArgsConstructor
+public class EventShortViewRepositoryImpl implements EventShortViewRepository {
+    private static final String VIEWS = "views";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<EventShortView> findShortViews(Specification<Event> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventShortView> query = cb.createQuery(EventShortView.class);
+        Root<Event> root = query.from(Event.class);
+        Join<Event, Category> category = root.join("category", JoinType.LEFT);
+        Join<Event, User> initiator = root.join("initiator", JoinType.LEFT);
+
+        query.select(cb.construct(EventShortView.class,
+                root.get("id"),
+                root.get("annotation"),
+                category.get("id"),
+                category.get("name"),
+                root.get("confirmedRequests"),
+                root.get("eventDate"),
+                initiator.get("id"),
+                initiator.get("name"),
+                root.get("paid"),
+                root.get("title")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            if (!VIEWS.equals(order.getProperty())) {
+                orders.addAll(QueryUtils.toOrders(Sort.by(order), root, cb));
+                continue;
+            }
+            // Строки event_views есть у каждого опубликованного события, поэтому хватает внутреннего соединения.
+            Root<EventViews> views = query.from(EventViews.class);
+            predicates.add(cb.equal(views.get("eventId"), root.get("id")));
+            orders.add(order.isAscending() ? cb.asc(views.get(VIEWS)) : cb.desc(views.get(VIEWS)));
+            orders.add(cb.asc(root.get("id")));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+        if (!orders.isEmpty()) {
+            query.orderBy(orders);
+        }
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.event.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.event.model.Event;
+
+import java.util.List;
+
+public interface EventSliceRepository {
+    List<Event> findEventSlice(Specification<Event> spec, Pageable pageable);
+}
@@ -0,0 +1,48 @@
+package ru.practicum.event.repository;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.event.model.Event;
+
+import java.util.List;
+
+/**
+ * Страница полных событий без запроса на подсчёт общего количества: категория, инициатор и локация
+ * загружаются тем же запросом.
+ */
+@RequiredArgsConstructor
+public class EventSliceRepositoryImpl implements EventSliceRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Event> findEventSlice(Specification<Event> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> root = query.from(Event.class);
+
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        EntityGraph<Event> graph = entityManager.createEntityGraph(Event.class);
+        graph.addAttributeNodes("category", "initiator", "location");
+
+        return entityManager.createQuery(query)
+                .setHint("jakarta.persistence.fetchgraph", graph)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.event.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.event.model.EventViews;
+import ru.practicum.event.state.EventState;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EventViewsRepository extends JpaRepository<EventViews, Long> {
+    /**
+     * Заводит нулевые строки просмотров для опубликованных событий, у которых их ещё нет.
+     */
+    @Modifying
+    @Query("INSERT INTO EventViews (eventId, views) " +
+            "SELECT e.id, 0L FROM Event AS e " +
+            "WHERE e.state = :state AND NOT EXISTS (SELECT v.eventId FROM EventViews AS v WHERE v.eventId = e.id)")
+    int insertMissing(EventState state);
+
+    @Query("SELECT e.id FROM Event AS e WHERE e.state = :state AND e.id > :afterId ORDER BY e.id")
+    List<Long> findEventIds(EventState state, long afterId, Limit limit);
+
+    @Query("SELECT MIN(e.publishedOn) FROM Event AS e WHERE e.id IN :eventIds")
+    LocalDateTime findFirstPublishedOn(Collection<Long> eventIds);
+}
@@ -0,0 +1,58 @@
+package ru.practicum.event.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Полнотекстовый поиск по заголовку, аннотации и описанию событий в PostgreSQL.
+ * <p>
+ * Вектор хранится в генерируемом столбце events.search_vector с GIN-индексом, поэтому PostgreSQL
+ * пересчитывает его сам при каждой записи события. Столбец и индекс создаются миграциями V2 и V3.
+ * Режим включается ewm.search.full-text=true и меняет смысл фильтра text: вместо подстроки без учёта
+ * регистра в аннотации и описании ищутся словоформы, в том числе в заголовке, а части слов не находятся.
+ * По умолчанию, на других БД (H2 в тестах) и без столбца поиск остаётся подстрочным через LIKE.
+ */
+@Slf4j
+@Component
+public class EventFullTextSearch {
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean requested;
+    private boolean enabled;
+
+    public EventFullTextSearch(JdbcTemplate jdbcTemplate,
+                               @Value("${ewm.search.full-text:false}") boolean requested) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requested = requested;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!requested) {
+            return;
+        }
+        Boolean postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        if (!Boolean.TRUE.equals(postgres)) {
+            log.info("Полнотекстовый поиск доступен только в PostgreSQL, используется поиск по подстроке");
+            return;
+        }
+        Boolean migrated = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = 'events' AND column_name = 'search_vector')",
+                Boolean.class);
+        if (!Boolean.TRUE.equals(migrated)) {
+            log.warn("В таблице events нет столбца search_vector, используется поиск по подстроке");
+            return;
+        }
+
+        enabled = true;
+        log.info("Полнотекстовый поиск событий включён");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,263 @@
+package ru.practicum.event.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.event.dto.EventSuggestionDto;
+import ru.practicum.event.repository.EventRepository;
+import ru.practicum.event.state.EventState;
+import ru.practicum.event.view.EventTitleView;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Индекс заголовков опубликованных событий для подсказок при вводе.
+ * <p>
+ * Запросы короче трёх символов ищутся по префиксам слов в отсортированном словаре, более длинные -
+ * пересечением списков событий по триграммам запроса с проверкой вхождения подстроки. Выше ставятся
+ * заголовки, начинающиеся с запроса, затем заголовки со словом, начинающимся с запроса, затем остальные
+ * совпадения, при равенстве - более короткие. Короткий запрос перестаёт перебирать слова, как только набрано
+ * limit заголовков, начинающихся с запроса, поэтому среди них длина сравнивается только у уже найденных.
+ * <p>
+ * Индекс хранит не больше max-events заголовков, при переполнении вытесняются события с наименьшими id.
+ * Изменения из updateEventByAdmin применяются после коммита. Другие узлы узнают о них при периодической
+ * перестройке индекса из БД.
+ */
+@Slf4j
+@Component
+public class EventTitleIndex {
+    private static final int GRAM = 3;
+
+    private final EventRepository eventRepository;
+    private final int maxEvents;
+    private final int batchSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+
+    public EventTitleIndex(EventRepository eventRepository,
+                           @Value("${ewm.suggest.max-events:100000}") int maxEvents,
+                           @Value("${ewm.suggest.batch-size:1000}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.maxEvents = maxEvents;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${ewm.suggest.rebuild-interval:PT5M}",
+            initialDelayString = "${ewm.suggest.rebuild-interval:PT5M}")
+    public void rebuild() {
+        Index rebuilt = new Index();
+        long afterId = 0;
+        while (true) {
+            List<EventTitleView> titles = eventRepository.findTitles(EventState.PUBLISHED, afterId, Limit.of(batchSize));
+            if (titles.isEmpty()) {
+                break;
+            }
+            titles.forEach(t -> rebuilt.put(t.id(), t.title(), maxEvents));
+            afterId = titles.get(titles.size() - 1).id();
+        }
+
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Индекс заголовков перестроен, событий: {}", rebuilt.titles.size());
+    }
+
+    /**
+     * Учитывает новый заголовок или состояние события после коммита текущей транзакции.
+     */
+    public void onEventChanged(Long eventId, String title, EventState state) {
+        Runnable update = () -> {
+            lock.writeLock().lock();
+            try {
+                if (state == EventState.PUBLISHED) {
+                    index.put(eventId, title, maxEvents);
+                } else {
+                    index.remove(eventId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    public List<EventSuggestionDto> suggest(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Match> best = new PriorityQueue<>(Comparator.reverseOrder());
+            if (q.length() < GRAM) {
+                // Слова обходятся по порядку, и как только найдено limit заголовков, начинающихся с запроса,
+                // остальные кандидаты уже не попадут в ответ
+                Set<Long> seen = new HashSet<>();
+                int leading = 0;
+                for (Set<Long> ids : index.byWordPrefix(q)) {
+                    for (Long id : ids) {
+                        if (seen.add(id) && offer(best, id, q, limit) == 0 && ++leading >= limit) {
+                            return toSuggestions(best);
+                        }
+                    }
+                }
+            } else {
+                for (Long id : index.bySubstring(q)) {
+                    offer(best, id, q, limit);
+                }
+            }
+            return toSuggestions(best);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int offer(PriorityQueue<Match> best, Long id, String q, int limit) {
+        Entry entry = index.titles.get(id);
+        int rank = rank(entry.normalized(), q);
+        if (rank < 0) {
+            return rank;
+        }
+        best.add(new Match(id, entry.title(), rank));
+        if (best.size() > limit) {
+            best.poll();
+        }
+        return rank;
+    }
+
+    private static List<EventSuggestionDto> toSuggestions(PriorityQueue<Match> best) {
+        List<Match> matches = new ArrayList<>(best);
+        Collections.sort(matches);
+        return matches.stream()
+                .map(m -> new EventSuggestionDto(m.id(), m.title()))
+                .toList();
+    }
+
+    private static int rank(String title, String q) {
+        if (title.startsWith(q)) {
+            return 0;
+        }
+        if (title.contains(" " + q)) {
+            return 1;
+        }
+        return title.contains(q) ? 2 : -1;
+    }
+
+    private static String normalize(String s) {
+        if (s == null) {
+            return "";
+        }
+        return s.toLowerCase(Locale.ROOT)
+                .replace('ё', 'е')
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+
+    private static Set<String> grams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static List<String> words(String normalized) {
+        return normalized.isEmpty() ? List.of() : List.of(normalized.split(" "));
+    }
+
+    private record Match(Long id, String title, int rank) implements Comparable<Match> {
+        @Override
+        public int compareTo(Match other) {
+            int result = Integer.compare(rank, other.rank);
+            if (result == 0) {
+                result = Integer.compare(title.length(), other.title.length());
+            }
+            return result != 0 ? result : Long.compare(id, other.id);
+        }
+    }
+
+    private record Entry(String title, String normalized) {
+    }
+
+    private static class Index {
+        private final TreeMap<Long, Entry> titles = new TreeMap<>();
+        private final Map<String, Set<Long>> grams = new HashMap<>();
+        private final TreeMap<String, Set<Long>> words = new TreeMap<>();
+
+        void put(Long id, String title, int maxEvents) {
+            remove(id);
+            String normalized = normalize(title);
+            titles.put(id, new Entry(title, normalized));
+            grams(normalized).forEach(g -> grams.computeIfAbsent(g, k -> new HashSet<>()).add(id));
+            words(normalized).forEach(w -> words.computeIfAbsent(w, k -> new HashSet<>()).add(id));
+
+            while (titles.size() > maxEvents) {
+                remove(titles.firstKey());
+            }
+        }
+
+        void remove(Long id) {
+            Entry entry = titles.remove(id);
+            if (entry == null) {
+                return;
+            }
+            grams(entry.normalized()).forEach(g -> detach(grams, g, id));
+            words(entry.normalized()).forEach(w -> detach(words, w, id));
+        }
+
+        Collection<Set<Long>> byWordPrefix(String prefix) {
+            return words.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values();
+        }
+
+        Collection<Long> bySubstring(String q) {
+            List<Set<Long>> postings = new ArrayList<>();
+            for (String g : grams(q)) {
+                Set<Long> ids = grams.get(g);
+                if (ids == null) {
+                    return Collections.emptyList();
+                }
+                postings.add(ids);
+            }
+            postings.sort(Comparator.comparingInt(Set::size));
+
+            Set<Long> result = new HashSet<>(postings.get(0));
+            for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+                result.retainAll(postings.get(i));
+            }
+            return result;
+        }
+
+        private static void detach(Map<String, Set<Long>> postings, String key, Long id) {
+            Set<Long> ids = postings.get(key);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+}
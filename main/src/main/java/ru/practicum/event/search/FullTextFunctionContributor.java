@@ -0,0 +1,38 @@
+package ru.practicum.event.search;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.type.StandardBasicTypes;
+import org.hibernate.type.spi.TypeConfiguration;
+
+/**
+ * Функции полнотекстового поиска по столбцу events.search_vector для запросов Criteria API.
+ * Столбец в сущности Event не отображается, поэтому функции обращаются к нему через подзапрос по id:
+ * fts_match(id, text) - событие подходит под запрос, fts_rank(id, text) - релевантность события.
+ * Регистрируются только для PostgreSQL.
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+    public static final String MATCH = "fts_match";
+    public static final String RANK = "fts_rank";
+    public static final String CONFIG = "russian";
+
+    private static final String QUERY = "websearch_to_tsquery('" + CONFIG + "', ?2)";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        JdbcServices jdbcServices = functionContributions.getServiceRegistry().requireService(JdbcServices.class);
+        if (!(jdbcServices.getDialect() instanceof PostgreSQLDialect)) {
+            return;
+        }
+        TypeConfiguration types = functionContributions.getTypeConfiguration();
+
+        functionContributions.getFunctionRegistry().registerPattern(MATCH,
+                "(?1 in (select fts.id from events fts where fts.search_vector @@ " + QUERY + "))",
+                types.getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN));
+        functionContributions.getFunctionRegistry().registerPattern(RANK,
+                "(select ts_rank(fts.search_vector, " + QUERY + ") from events fts where fts.id = ?1)",
+                types.getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+    }
+}
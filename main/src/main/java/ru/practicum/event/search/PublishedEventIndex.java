@@ -0,0 +1,466 @@
+package ru.practicum.event.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.repository.EventRepository;
+import ru.practicum.event.state.EventState;
+import ru.practicum.event.view.EventSearchView;
+import ru.practicum.event.view.EventShortView;
+import ru.practicum.pagination.PageCursor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Опубликованные события в памяти для публичного поиска GET /events без текстового запроса.
+ * <p>
+ * Каждое событие занимает слот: поля для фильтров и сортировки лежат в массивах примитивов по номеру слота,
+ * вторичные индексы по категории, платности и заполненности лимита участников - битовые множества слотов,
+ * индекс по дате - словарь, упорядоченный по (eventDate, id). Фильтры пересекаются словами BitSet,
+ * сортировка по дате идёт по словарю от начала диапазона и останавливается на нужной строке, сортировка
+ * по просмотрам выбирает верх кучей ограниченного размера.
+ * <p>
+ * Изменения событий, счётчиков заявок и просмотров на этом узле применяются после коммита, изменения с других
+ * узлов подхватываются периодической перестройкой из БД. Описания в памяти не хранятся, поэтому поиск с текстом
+ * выполняется в БД.
+ */
+@Slf4j
+@Component
+public class PublishedEventIndex {
+    private final EventRepository eventRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index;
+    private Set<Long> changedDuringRebuild;
+
+    public PublishedEventIndex(EventRepository eventRepository,
+                               @Value("${ewm.search.in-memory.enabled:false}") boolean enabled,
+                               @Value("${ewm.search.in-memory.batch-size:1000}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * Индекс включён и уже построен.
+     */
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return index != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ewm.search.in-memory.rebuild-interval:PT5M}",
+            initialDelayString = "${ewm.search.in-memory.rebuild-interval:PT5M}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index rebuilt = new Index();
+        long afterId = 0;
+        while (true) {
+            List<EventSearchView> rows = eventRepository.findSearchViews(EventState.PUBLISHED, afterId, Limit.of(batchSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+            rows.forEach(rebuilt::put);
+            afterId = rows.get(rows.size() - 1).event().id();
+        }
+
+        Set<Long> changed;
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Изменения, закоммиченные во время загрузки, могли в неё не попасть: такие события перечитываются.
+        if (!changed.isEmpty()) {
+            List<EventSearchView> rows = eventRepository.findSearchViewsByIds(EventState.PUBLISHED, changed);
+            apply(List.of(), i -> {
+                changed.forEach(i::remove);
+                rows.forEach(i::put);
+            });
+        }
+        log.debug("Индекс опубликованных событий перестроен, событий: {}", rebuilt.slots.size());
+    }
+
+    /**
+     * Учитывает новое состояние события после коммита текущей транзакции.
+     */
+    public void onEventChanged(Event event) {
+        if (!enabled) {
+            return;
+        }
+        Long eventId = event.getId();
+        // Представление собирается сейчас, пока категория и инициатор доступны в транзакции.
+        EventSearchView row = event.getState() == EventState.PUBLISHED ? new EventSearchView(
+                eventId,
+                event.getAnnotation(),
+                event.getCategory().getId(),
+                event.getCategory().getName(),
+                event.getConfirmedRequests(),
+                event.getEventDate(),
+                event.getInitiator().getId(),
+                event.getInitiator().getName(),
+                event.getPaid(),
+                event.getTitle(),
+                event.getParticipantLimit(),
+                null) : null;
+
+        afterCommit(List.of(eventId), i -> {
+            if (row != null) {
+                i.put(row);
+            } else {
+                i.remove(eventId);
+            }
+        });
+    }
+
+    public void onConfirmedRequestsAdded(Long eventId, long delta) {
+        if (enabled) {
+            afterCommit(List.of(eventId), i -> i.addConfirmedRequests(eventId, delta));
+        }
+    }
+
+    public void onConfirmedRequestsSet(Long eventId, long confirmedRequests) {
+        if (enabled) {
+            afterCommit(List.of(eventId), i -> i.setConfirmedRequests(eventId, confirmedRequests));
+        }
+    }
+
+    public void onCategoryRenamed(Long categoryId, String name) {
+        if (enabled) {
+            afterCommit(List.of(), i -> i.renameCategory(categoryId, name));
+        }
+    }
+
+    public void onViewsChanged(Map<Long, Long> views) {
+        if (enabled) {
+            afterCommit(views.keySet(), i -> views.forEach(i::setViews));
+        }
+    }
+
+    /**
+     * События в порядке (eventDate, id) после курсора, а без него - после пропуска offset строк.
+     */
+    public List<EventShortView> findByEventDate(Filter filter, PageCursor after, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.findByEventDate(filter, after, after != null ? 0 : offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * События по убыванию просмотров, при равенстве - по возрастанию id, как при сортировке в БД.
+     */
+    public List<EventShortView> findByViews(Filter filter, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.findByViews(filter, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Collection<Long> eventIds, Consumer<Index> change) {
+        Runnable update = () -> apply(eventIds, change);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private void apply(Collection<Long> eventIds, Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.addAll(eventIds);
+            }
+            if (index != null) {
+                change.accept(index);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Фильтры публичного поиска. Без начала диапазона ищутся события, которые ещё не начались.
+     */
+    public record Filter(List<Long> categories,
+                         Boolean paid,
+                         LocalDateTime rangeStart,
+                         LocalDateTime rangeEnd,
+                         boolean onlyAvailable) {
+    }
+
+    private record DateKey(long eventDate, long id) implements Comparable<DateKey> {
+        @Override
+        public int compareTo(DateKey other) {
+            int result = Long.compare(eventDate, other.eventDate);
+            return result != 0 ? result : Long.compare(id, other.id);
+        }
+    }
+
+    private static long micros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static class Index {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final Map<Long, Integer> slots = new HashMap<>();
+        private final Deque<Integer> freeSlots = new ArrayDeque<>();
+        private int nextSlot;
+
+        private EventShortView[] rows = new EventShortView[INITIAL_CAPACITY];
+        private long[] eventDates = new long[INITIAL_CAPACITY];
+        private long[] views = new long[INITIAL_CAPACITY];
+        private int[] participantLimits = new int[INITIAL_CAPACITY];
+
+        private final BitSet live = new BitSet();
+        private final BitSet paid = new BitSet();
+        private final BitSet full = new BitSet();
+        private final Map<Long, BitSet> categories = new HashMap<>();
+        private final TreeMap<DateKey, Integer> byDate = new TreeMap<>();
+
+        void put(EventSearchView row) {
+            EventShortView event = row.event();
+            Long previousViews = views(event.id());
+            remove(event.id());
+
+            int slot = allocate();
+            slots.put(event.id(), slot);
+            rows[slot] = event;
+            eventDates[slot] = micros(event.eventDate());
+            views[slot] = row.views() != null ? row.views() : previousViews != null ? previousViews : 0L;
+            participantLimits[slot] = row.participantLimit() != null ? row.participantLimit() : 0;
+
+            live.set(slot);
+            paid.set(slot, Boolean.TRUE.equals(event.paid()));
+            categories.computeIfAbsent(event.categoryId(), k -> new BitSet()).set(slot);
+            byDate.put(new DateKey(eventDates[slot], event.id()), slot);
+            updateFull(slot);
+        }
+
+        void remove(Long id) {
+            Integer slot = slots.remove(id);
+            if (slot == null) {
+                return;
+            }
+            byDate.remove(new DateKey(eventDates[slot], id));
+            BitSet category = categories.get(rows[slot].categoryId());
+            category.clear(slot);
+            if (category.isEmpty()) {
+                categories.remove(rows[slot].categoryId());
+            }
+            live.clear(slot);
+            paid.clear(slot);
+            full.clear(slot);
+            rows[slot] = null;
+            freeSlots.push(slot);
+        }
+
+        void addConfirmedRequests(Long id, long delta) {
+            Integer slot = slots.get(id);
+            if (slot != null) {
+                long confirmed = rows[slot].confirmedRequests() != null ? rows[slot].confirmedRequests() : 0L;
+                setConfirmedRequests(id, confirmed + delta);
+            }
+        }
+
+        void setConfirmedRequests(Long id, long confirmedRequests) {
+            Integer slot = slots.get(id);
+            if (slot == null) {
+                return;
+            }
+            EventShortView e = rows[slot];
+            rows[slot] = new EventShortView(e.id(), e.annotation(), e.categoryId(), e.categoryName(), confirmedRequests,
+                    e.eventDate(), e.initiatorId(), e.initiatorName(), e.paid(), e.title());
+            updateFull(slot);
+        }
+
+        void renameCategory(Long categoryId, String name) {
+            BitSet category = categories.get(categoryId);
+            if (category == null) {
+                return;
+            }
+            for (int slot = category.nextSetBit(0); slot >= 0; slot = category.nextSetBit(slot + 1)) {
+                EventShortView e = rows[slot];
+                rows[slot] = new EventShortView(e.id(), e.annotation(), e.categoryId(), name, e.confirmedRequests(),
+                        e.eventDate(), e.initiatorId(), e.initiatorName(), e.paid(), e.title());
+            }
+        }
+
+        void setViews(Long id, Long value) {
+            Integer slot = slots.get(id);
+            if (slot != null && value != null) {
+                views[slot] = value;
+            }
+        }
+
+        List<EventShortView> findByEventDate(Filter filter, PageCursor after, long offset, int limit) {
+            BitSet candidates = candidates(filter);
+            long from = micros(filter.rangeStart() != null ? filter.rangeStart() : LocalDateTime.now());
+            long to = filter.rangeEnd() != null ? micros(filter.rangeEnd()) : Long.MAX_VALUE;
+
+            DateKey lower = new DateKey(from, Long.MIN_VALUE);
+            boolean inclusive = true;
+            if (after != null) {
+                DateKey cursor = new DateKey(micros(after.eventDate()), after.id());
+                if (cursor.compareTo(lower) >= 0) {
+                    lower = cursor;
+                    inclusive = false;
+                }
+            }
+
+            // При узком фильтре дешевле отсортировать подходящие слоты, чем идти по всему диапазону дат.
+            if (candidates.cardinality() < slots.size() / 8) {
+                List<DateKey> keys = new ArrayList<>();
+                for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                    DateKey key = new DateKey(eventDates[slot], rows[slot].id());
+                    int cmp = key.compareTo(lower);
+                    if ((cmp > 0 || (inclusive && cmp == 0)) && key.eventDate() <= to) {
+                        keys.add(key);
+                    }
+                }
+                Collections.sort(keys);
+                return keys.stream()
+                        .skip(offset)
+                        .limit(limit)
+                        .map(key -> rows[byDate.get(key)])
+                        .toList();
+            }
+
+            List<EventShortView> result = new ArrayList<>();
+            long skip = offset;
+            for (Map.Entry<DateKey, Integer> entry : byDate.tailMap(lower, inclusive).entrySet()) {
+                if (entry.getKey().eventDate() > to || result.size() >= limit) {
+                    break;
+                }
+                int slot = entry.getValue();
+                if (!candidates.get(slot)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                result.add(rows[slot]);
+            }
+            return result;
+        }
+
+        List<EventShortView> findByViews(Filter filter, long offset, int limit) {
+            BitSet candidates = candidates(filter);
+            long from = micros(filter.rangeStart() != null ? filter.rangeStart() : LocalDateTime.now());
+            long to = filter.rangeEnd() != null ? micros(filter.rangeEnd()) : Long.MAX_VALUE;
+
+            Comparator<Integer> order = Comparator.<Integer>comparingLong(slot -> views[slot]).reversed()
+                    .thenComparingLong(slot -> rows[slot].id());
+            long keep = offset + limit;
+            PriorityQueue<Integer> top = new PriorityQueue<>(order.reversed());
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                if (eventDates[slot] < from || eventDates[slot] > to) {
+                    continue;
+                }
+                top.add(slot);
+                if (top.size() > keep) {
+                    top.poll();
+                }
+            }
+
+            List<Integer> sorted = new ArrayList<>(top);
+            sorted.sort(order);
+            return sorted.stream()
+                    .skip(offset)
+                    .map(slot -> rows[slot])
+                    .toList();
+        }
+
+        private BitSet candidates(Filter filter) {
+            BitSet result = (BitSet) live.clone();
+            if (filter.categories() != null && !filter.categories().isEmpty()) {
+                BitSet union = new BitSet();
+                filter.categories().stream()
+                        .map(categories::get)
+                        .filter(Objects::nonNull)
+                        .forEach(union::or);
+                result.and(union);
+            }
+            if (Boolean.TRUE.equals(filter.paid())) {
+                result.and(paid);
+            } else if (Boolean.FALSE.equals(filter.paid())) {
+                result.andNot(paid);
+            }
+            if (filter.onlyAvailable()) {
+                result.andNot(full);
+            }
+            return result;
+        }
+
+        private void updateFull(int slot) {
+            long confirmed = rows[slot].confirmedRequests() != null ? rows[slot].confirmedRequests() : 0L;
+            full.set(slot, participantLimits[slot] > 0 && confirmed >= participantLimits[slot]);
+        }
+
+        private Long views(Long id) {
+            Integer slot = slots.get(id);
+            return slot != null ? views[slot] : null;
+        }
+
+        private int allocate() {
+            if (!freeSlots.isEmpty()) {
+                return freeSlots.pop();
+            }
+            if (nextSlot == rows.length) {
+                int capacity = rows.length * 2;
+                rows = Arrays.copyOf(rows, capacity);
+                eventDates = Arrays.copyOf(eventDates, capacity);
+                views = Arrays.copyOf(views, capacity);
+                participantLimits = Arrays.copyOf(participantLimits, capacity);
+            }
+            return nextSlot++;
+        }
+    }
+}
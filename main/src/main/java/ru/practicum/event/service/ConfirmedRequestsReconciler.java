@@ -0,0 +1,64 @@
+package ru.practicum.event.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.event.repository.EventRepository;
+import ru.practicum.event.search.PublishedEventIndex;
+import ru.practicum.request.repository.RequestRepository;
+import ru.practicum.request.status.RequestStatus;
+
+import java.util.List;
+
+/**
+ * Сверяет счётчик events.confirmed_requests с количеством подтверждённых заявок. Счётчик меняется атомарно
+ * вместе со статусами заявок, поэтому расхождение возможно только после правок в обход сервисов.
+ * Каждое событие пересчитывается в своей транзакции под блокировкой строки события.
+ */
+@Slf4j
+@Component
+public class ConfirmedRequestsReconciler {
+    private final EventRepository eventRepository;
+    private final RequestRepository requestRepository;
+    private final EventSearchProjection eventSearchProjection;
+    private final PublishedEventIndex publishedEventIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    public ConfirmedRequestsReconciler(EventRepository eventRepository,
+                                       RequestRepository requestRepository,
+                                       EventSearchProjection eventSearchProjection,
+                                       PublishedEventIndex publishedEventIndex,
+                                       PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.requestRepository = requestRepository;
+        this.eventSearchProjection = eventSearchProjection;
+        this.publishedEventIndex = publishedEventIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${ewm.confirmed-requests.reconcile-interval:PT10M}",
+            initialDelayString = "${ewm.confirmed-requests.reconcile-interval:PT10M}")
+    public void reconcile() {
+        List<Long> eventIds = eventRepository.findIdsWithConfirmedRequestsDrift(RequestStatus.CONFIRMED);
+        if (eventIds.isEmpty()) {
+            return;
+        }
+
+        for (Long eventId : eventIds) {
+            transactionTemplate.executeWithoutResult(status -> eventRepository.findByIdForUpdate(eventId)
+                    .ifPresent(event -> {
+                        long actual = requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED);
+                        if (event.getConfirmedRequests() != null && event.getConfirmedRequests() == actual) {
+                            return;
+                        }
+                        eventRepository.setConfirmedRequests(eventId, actual);
+                        eventSearchProjection.refresh(eventId);
+                        publishedEventIndex.onConfirmedRequestsSet(eventId, actual);
+                        log.warn("Счётчик подтверждённых заявок события {} исправлен: {} -> {}",
+                                eventId, event.getConfirmedRequests(), actual);
+                    }));
+        }
+    }
+}
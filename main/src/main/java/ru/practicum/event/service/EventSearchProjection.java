@@ -0,0 +1,72 @@
+package ru.practicum.event.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.event.repository.EventRepository;
+import ru.practicum.event.repository.EventSearchRepository;
+import ru.practicum.event.state.EventState;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Поддерживает таблицу event_search. Строка события пересобирается из events той же транзакцией, которая
+ * меняет событие, его счётчик заявок или просмотры, поэтому таблица не расходится с источником и не нужна
+ * отдельная доставка изменений. Опубликованные события, которых в таблице нет, добавляются при старте.
+ * Вызывающий код сначала меняет или блокирует строку events и только потом строку event_search.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class EventSearchProjection {
+    private final EventRepository eventRepository;
+    private final EventSearchRepository eventSearchRepository;
+
+    public void refresh(Long eventId) {
+        refresh(List.of(eventId));
+    }
+
+    /**
+     * Пересобирает строки событий: опубликованные копируются из events, остальные удаляются.
+     * Удаление и вставка выполняются под блокировкой строк events: так параллельная пересборка или
+     * addConfirmedRequests того же события ждут коммита, а не теряют изменение или не падают на первичном ключе.
+     */
+    public void refresh(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        eventRepository.findAllByIdForUpdate(eventIds);
+        eventSearchRepository.deleteByIds(eventIds);
+        eventSearchRepository.insertFromEvents(eventIds, EventState.PUBLISHED);
+    }
+
+    /**
+     * Для путей подачи и отмены заявок: в отличие от refresh, не читает events и не соединяет таблицы.
+     */
+    public void addConfirmedRequests(Long eventId, long delta) {
+        eventSearchRepository.addConfirmedRequests(eventId, delta);
+    }
+
+    public void refreshViews(Collection<Long> eventIds) {
+        if (!eventIds.isEmpty()) {
+            eventSearchRepository.copyViews(eventIds);
+        }
+    }
+
+    public void renameCategory(Long categoryId, String name) {
+        eventSearchRepository.renameCategory(categoryId, name);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int inserted = eventSearchRepository.insertMissing(EventState.PUBLISHED);
+        if (inserted > 0) {
+            log.info("В event_search добавлены опубликованные события: {}", inserted);
+        }
+    }
+}
@@ -2,43 +2,56 @@ package ru.practicum.event.service;
 
 import jakarta.servlet.http.HttpServletRequest;
 import ru.practicum.event.dto.*;
+import ru.practicum.pagination.CursorPage;
 import ru.practicum.request.dto.ParticipationRequestDto;
+import ru.practicum.request.status.RequestStatus;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface EventService {
     EventFullDto createEvent(Long userId, NewEventDto newEventDto);
 
-    List<EventShortDto> getEventsByUserId(Long userId, Integer from, Integer size);
+    CursorPage<EventShortDto> getEventsByUserId(Long userId, Integer from, Integer size, String cursor);
 
     EventFullDto getEventByUserIdAndEventId(Long userId, Long eventId);
 
     EventFullDto updateEventByUserIdAndEventId(Long userId, Long eventId, UpdateEventUserRequest updateEventUserRequest);
 
-    List<ParticipationRequestDto> getEventRequestsByUserIdAndEventId(Long userId, Long eventId);
+    CursorPage<ParticipationRequestDto> getEventRequestsByUserIdAndEventId(Long userId,
+                                                                           Long eventId,
+                                                                           List<RequestStatus> statuses,
+                                                                           Integer size,
+                                                                           String cursor);
+
+    Map<RequestStatus, Long> getEventRequestStatusSummary(Long userId, Long eventId);
 
     EventRequestStatusUpdateResult changeStatus(final Long userId,
                                                 final Long eventId,
                                                 final EventRequestStatusUpdateRequest eventRequestStatusUpdateRequest);
 
-    List<EventShortDto> getEvents(String text, List<Long> categories, Boolean paid, LocalDateTime rangeStart,
-                                  LocalDateTime rangeEnd,
-                                  Boolean onlyAvailable,
-                                  String sort,
-                                  Integer from,
-                                  Integer size,
-                                  HttpServletRequest request);
+    CursorPage<EventShortDto> getEvents(String text, List<Long> categories, Boolean paid, LocalDateTime rangeStart,
+                                        LocalDateTime rangeEnd,
+                                        Boolean onlyAvailable,
+                                        String sort,
+                                        Integer from,
+                                        Integer size,
+                                        String cursor,
+                                        HttpServletRequest request);
 
     EventFullDto getEventById(Long id, HttpServletRequest request);
 
-    List<EventFullDto> getAdminEvents(List<Long> users,
-                                      List<String> states,
-                                      List<Long> categories,
-                                      LocalDateTime rangeStart,
-                                      LocalDateTime rangeEnd,
-                                      Integer from,
-                                      Integer size);
+    List<EventSuggestionDto> suggestEvents(String query, Integer size);
+
+    CursorPage<EventFullDto> getAdminEvents(List<Long> users,
+                                            List<String> states,
+                                            List<Long> categories,
+                                            LocalDateTime rangeStart,
+                                            LocalDateTime rangeEnd,
+                                            Integer from,
+                                            Integer size,
+                                            String cursor);
 
     EventFullDto updateEventByAdmin(Long eventId,
                                     UpdateEventAdminRequest updateEventAdminRequest);
@@ -1,14 +1,19 @@
 package ru.practicum.event.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.StatsClient;
 import ru.practicum.StatsRequestDto;
 import ru.practicum.StatsResponseDto;
@@ -18,15 +23,27 @@ import ru.practicum.category.repository.CategoryRepository;
 import ru.practicum.event.dto.*;
 import ru.practicum.event.dto.mapper.EventMapper;
 import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventSearch;
+import ru.practicum.event.model.EventViews;
 import ru.practicum.event.repository.EventRepository;
+import ru.practicum.event.repository.EventSearchRepository;
+import ru.practicum.event.repository.EventViewsRepository;
+import ru.practicum.event.search.EventFullTextSearch;
+import ru.practicum.event.search.EventTitleIndex;
+import ru.practicum.event.search.PublishedEventIndex;
+import ru.practicum.event.specification.EventSearchSpecifications;
 import ru.practicum.event.specification.EventSpecifications;
 import ru.practicum.event.state.EventState;
+import ru.practicum.event.view.EventShortView;
 import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.exception.ValidationException;
 import ru.practicum.location.dto.mapper.LocationMapper;
 import ru.practicum.location.model.Location;
 import ru.practicum.location.repository.LocationRepository;
+import ru.practicum.pagination.CursorPage;
+import ru.practicum.pagination.OffsetPageRequest;
+import ru.practicum.pagination.PageCursor;
 import ru.practicum.request.dto.ParticipationRequestDto;
 import ru.practicum.request.dto.mapper.RequestMapper;
 import ru.practicum.request.model.Request;
@@ -38,9 +55,13 @@ import ru.practicum.user.repository.UserRepository;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Transactional(readOnly = true)
@@ -48,13 +69,27 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Service
 public class EventServiceImpl implements EventService {
+    private static final Sort BY_EVENT_DATE = Sort.by("eventDate", "id").ascending();
+    private static final Sort BY_VIEWS = Sort.by(Sort.Direction.DESC, "views");
+    private static final String EVENT_URI = "/events/";
+    // В списке дат публикации нет, поэтому просмотры в нём считаются с заведомо ранней даты.
+    private static final LocalDateTime STATS_START = LocalDateTime.of(2000, 1, 1, 0, 0);
+
     private final EventRepository eventRepository;
+    private final EventSearchRepository eventSearchRepository;
+    private final EventSearchProjection eventSearchProjection;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final RequestRepository requestRepository;
+    private final EventViewsRepository eventViewsRepository;
+    private final EventViewsSynchronizer eventViewsSynchronizer;
+    private final EventFullTextSearch eventFullTextSearch;
+    private final EventTitleIndex eventTitleIndex;
+    private final PublishedEventIndex publishedEventIndex;
     private final LocationRepository locationRepository;
     private final StatsClient statsClient;
-
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
 
     @Transactional
     @Override
@@ -83,15 +118,17 @@ public class EventServiceImpl implements EventService {
     }
 
     @Override
-    public List<EventShortDto> getEventsByUserId(Long userId, Integer from, Integer size) {
+    public CursorPage<EventShortDto> getEventsByUserId(Long userId, Integer from, Integer size, String cursor) {
         findUser(userId);
 
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by("eventDate").ascending());
+        PageCursor pageCursor = PageCursor.decodeKey(cursor);
+        Specification<Event> spec = Specification.where(EventSpecifications.userIn(List.of(userId)))
+                .and(EventSpecifications.after(pageCursor));
+        Pageable pageable = OffsetPageRequest.forSlice(pageCursor, from, size, BY_EVENT_DATE);
 
-        return eventRepository.findByInitiatorId(userId, pageable)
-                .stream()
-                .map(EventMapper::toEventShortDto)
-                .collect(Collectors.toList());
+        return CursorPage.of(eventRepository.findShortViews(spec, pageable), size,
+                        view -> PageCursor.ofKey(view.eventDate(), view.id()))
+                .map(EventMapper::toEventShortDto);
     }
 
     @Override
@@ -152,14 +189,28 @@ public class EventServiceImpl implements EventService {
     }
 
     @Override
-    public List<ParticipationRequestDto> getEventRequestsByUserIdAndEventId(Long userId, Long eventId) {
+    public CursorPage<ParticipationRequestDto> getEventRequestsByUserIdAndEventId(Long userId,
+                                                                                  Long eventId,
+                                                                                  List<RequestStatus> statuses,
+                                                                                  Integer size,
+                                                                                  String cursor) {
         findEvent(userId, eventId);
 
-        List<Request> requests = requestRepository.findAllByEventId(eventId);
+        PageCursor pageCursor = PageCursor.decodeId(cursor);
+        List<Request> requests = requestRepository.findPageByEventId(eventId,
+                statuses == null || statuses.isEmpty() ? EnumSet.allOf(RequestStatus.class) : statuses,
+                pageCursor != null ? pageCursor.afterId() : 0L,
+                Limit.of(size + 1));
+
+        return CursorPage.of(requests, size, request -> PageCursor.ofId(request.getId()))
+                .map(RequestMapper::toParticipationRequestDto);
+    }
+
+    @Override
+    public Map<RequestStatus, Long> getEventRequestStatusSummary(Long userId, Long eventId) {
+        findEvent(userId, eventId);
 
-        return requests.stream()
-                .map(RequestMapper::toParticipationRequestDto)
-                .toList();
+        return requestRepository.countStatusesByEventId(eventId);
     }
 
     @Transactional
@@ -175,170 +226,206 @@ public class EventServiceImpl implements EventService {
             return new EventRequestStatusUpdateResult(confirmed, Collections.emptyList());
         }
 
-        long confirmedCount = requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED);
+        RequestStatus status = eventRequestStatusUpdateRequest.getStatus();
+        if (status != RequestStatus.CONFIRMED && status != RequestStatus.REJECTED) {
+            throw new ConflictException("Неверный статус для обновления");
+        }
+        List<Long> requestIds = eventRequestStatusUpdateRequest.getRequestIds();
+        if (requestRepository.existsByIdInAndStatusNot(requestIds, RequestStatus.PENDING)) {
+            throw new ConflictException("Запрос должен иметь статус PENDING");
+        }
 
-        List<Request> requestsToUpdate = requestRepository.findAllByIdIn(eventRequestStatusUpdateRequest.getRequestIds());
+        long confirmedCount = event.getConfirmedRequests() != null ? event.getConfirmedRequests() : 0L;
+        long limit = event.getParticipantLimit();
 
         List<ParticipationRequestDto> confirmedRequests = new ArrayList<>();
         List<ParticipationRequestDto> rejectedRequests = new ArrayList<>();
 
-        for (Request r : requestsToUpdate) {
-            if (!r.getStatus().equals(RequestStatus.PENDING)) {
-                throw new ConflictException("Запрос должен иметь статус PENDING");
+        if (status == RequestStatus.CONFIRMED) {
+            if (confirmedCount >= limit) {
+                throw new ConflictException("Лимит участников достигнут");
             }
-
-            if (eventRequestStatusUpdateRequest.getStatus().equals(RequestStatus.CONFIRMED)) {
-                if (confirmedCount >= event.getParticipantLimit()) {
+            confirmedRequests.addAll(requestRepository.updatePendingStatus(
+                    eventId, requestIds, RequestStatus.CONFIRMED, limit - confirmedCount));
+            if (!confirmedRequests.isEmpty()) {
+                if (eventRepository.reserveConfirmedRequests(eventId, confirmedRequests.size()) == 0) {
                     throw new ConflictException("Лимит участников достигнут");
                 }
-                r.setStatus(RequestStatus.CONFIRMED);
-                confirmedCount++;
-                confirmedRequests.add(RequestMapper.toParticipationRequestDto(r));
-            } else if (eventRequestStatusUpdateRequest.getStatus().equals(RequestStatus.REJECTED)) {
-                r.setStatus(RequestStatus.REJECTED);
-                rejectedRequests.add(RequestMapper.toParticipationRequestDto(r));
-            } else {
-                throw new ConflictException("Неверный статус для обновления");
+                eventSearchProjection.addConfirmedRequests(eventId, confirmedRequests.size());
             }
+            publishedEventIndex.onConfirmedRequestsAdded(eventId, confirmedRequests.size());
+            confirmedCount += confirmedRequests.size();
+        } else {
+            rejectedRequests.addAll(requestRepository.updatePendingStatus(
+                    eventId, requestIds, RequestStatus.REJECTED, null));
+        }
 
-            if (confirmedCount >= event.getParticipantLimit()) {
-                List<Request> pendingRequests = requestRepository.findAllByEventIdAndStatus(eventId, RequestStatus.PENDING);
-                for (Request pr : pendingRequests) {
-                    pr.setStatus(RequestStatus.REJECTED);
-                    rejectedRequests.add(RequestMapper.toParticipationRequestDto(pr));
-                }
-                break;
-            }
+        // Лимит исчерпан: оставшиеся ожидающие заявки события, в том числе из этого запроса, отклоняются.
+        if (confirmedCount >= limit) {
+            rejectedRequests.addAll(requestRepository.updatePendingStatus(
+                    eventId, null, RequestStatus.REJECTED, null));
         }
-        requestRepository.saveAll(requestsToUpdate);
 
         return new EventRequestStatusUpdateResult(confirmedRequests, rejectedRequests);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @Override
-    public List<EventShortDto> getEvents(String text, List<Long> categories, Boolean paid, LocalDateTime rangeStart,
-                                         LocalDateTime rangeEnd,
-                                         Boolean onlyAvailable,
-                                         String sort,
-                                         Integer from,
-                                         Integer size,
-                                         HttpServletRequest request) {
+    public CursorPage<EventShortDto> getEvents(String text, List<Long> categories, Boolean paid, LocalDateTime rangeStart,
+                                               LocalDateTime rangeEnd,
+                                               Boolean onlyAvailable,
+                                               String sort,
+                                               Integer from,
+                                               Integer size,
+                                               String cursor,
+                                               HttpServletRequest request) {
         if (rangeStart != null && rangeEnd != null && rangeEnd.isBefore(rangeStart)) {
             log.warn("rangeEnd не может быть меньше rangeStart");
             throw new ValidationException("rangeEnd не может быть меньше rangeStart");
         }
 
-        Specification<Event> spec = Specification.where(EventSpecifications.published())
-                .and(EventSpecifications.textContains(text))
-                .and(EventSpecifications.categoryIn(categories))
-                .and(EventSpecifications.paidIs(paid))
-                .and(EventSpecifications.dateBetween(rangeStart, rangeEnd))
-                .and(EventSpecifications.onlyAvailable(onlyAvailable));
-
-        Pageable pageable = PageRequest.of(from / size, size, sortBy(sort));
+        CompletableFuture<?> hit = createHit(request);
+
+        boolean fullText = eventFullTextSearch.isEnabled();
+        boolean hasText = text != null && !text.isBlank();
+        // Без полнотекстового поиска релевантность не вычисляется, и RELEVANCE сортирует по дате события.
+        boolean byRelevance = fullText && hasText && "relevance".equalsIgnoreCase(sort);
+
+        // Без текста поиск обслуживается индексом в памяти, если он включён, иначе таблицей event_search.
+        // Поиску подстроки нужно описание, которого в event_search нет, поэтому он читает events.
+        boolean inMemory = !hasText && publishedEventIndex.isReady();
+        PublishedEventIndex.Filter filter = new PublishedEventIndex.Filter(categories, paid, rangeStart, rangeEnd,
+                Boolean.TRUE.equals(onlyAvailable));
+        BiFunction<PageCursor, Pageable, List<EventShortView>> fromDb;
+        if (hasText && !fullText) {
+            Specification<Event> spec = Specification.where(EventSpecifications.published())
+                    .and(EventSpecifications.textContains(text))
+                    .and(EventSpecifications.categoryIn(categories))
+                    .and(EventSpecifications.paidIs(paid))
+                    .and(EventSpecifications.dateBetween(rangeStart, rangeEnd))
+                    .and(EventSpecifications.onlyAvailable(onlyAvailable));
+            fromDb = (after, pageable) -> eventRepository.findShortViews(
+                    spec.and(EventSpecifications.after(after)), pageable);
+        } else {
+            Specification<EventSearch> spec = Specification.where(EventSearchSpecifications.textMatches(text))
+                    .and(EventSearchSpecifications.categoryIn(categories))
+                    .and(EventSpecifications.paidIs(paid))
+                    .and(EventSpecifications.dateBetween(rangeStart, rangeEnd))
+                    .and(EventSearchSpecifications.onlyAvailable(onlyAvailable))
+                    .and(byRelevance ? EventSearchSpecifications.orderByRelevance(text) : null);
+            fromDb = (after, pageable) -> eventSearchRepository.findShortViews(
+                    spec.and(EventSpecifications.after(after)), pageable);
+        }
 
-        List<Event> events = eventRepository.findAll(spec, pageable).getContent();
+        // По просмотрам и релевантности ключ строки не восстановить из ответа, поэтому курсор хранит смещение.
+        CursorPage<EventShortDto> page;
+        if (byRelevance || "views".equalsIgnoreCase(sort)) {
+            PageCursor pageCursor = PageCursor.decodeOffset(cursor);
+            long offset = pageCursor != null ? pageCursor.offset() : from;
+            Pageable pageable = OffsetPageRequest.of(offset, size + 1, byRelevance ? Sort.unsorted() : BY_VIEWS);
+            page = readEvents("getEvents", inMemory, () -> CursorPage.of(inMemory
+                                    ? publishedEventIndex.findByViews(filter, offset, size + 1)
+                                    : fromDb.apply(null, pageable),
+                            size, view -> PageCursor.ofOffset(offset + size))
+                    .map(EventMapper::toEventShortDto));
+        } else {
+            PageCursor pageCursor = PageCursor.decodeKey(cursor);
+            Pageable pageable = OffsetPageRequest.forSlice(pageCursor, from, size, BY_EVENT_DATE);
+            page = readEvents("getEvents", inMemory, () -> CursorPage.of(inMemory
+                                    ? publishedEventIndex.findByEventDate(filter, pageCursor, from, size + 1)
+                                    : fromDb.apply(pageCursor, pageable),
+                            size, view -> PageCursor.ofKey(view.eventDate(), view.id()))
+                    .map(EventMapper::toEventShortDto));
+        }
+        List<EventShortDto> events = page.content();
+
+        // Просмотры считаются по /events/{id}, а хит пишется на /events, поэтому запрос просмотров его не ждёт.
+        Map<String, Long> views = recordStatsCall("getEvents", () -> {
+            List<StatsResponseDto> stats = events.isEmpty()
+                    ? List.of()
+                    : statsClient.getStats(StatsViewRequestDto.builder()
+                            .uris(events.stream().map(event -> EVENT_URI + event.getId()).toList())
+                            .start(STATS_START)
+                            .end(LocalDateTime.now())
+                            .unique(true)
+                            .build());
+            awaitHit(hit);
+            return stats.stream()
+                    .collect(Collectors.toMap(StatsResponseDto::getUri, StatsResponseDto::getHits, Long::sum));
+        });
 
-        statsClient.createHit(new StatsRequestDto(
-                "ewm",
-                request.getRequestURI(),
-                request.getRemoteAddr(),
-                LocalDateTime.now()
-        ));
+        events.forEach(eventShortDto -> eventShortDto.setViews(views.getOrDefault(EVENT_URI + eventShortDto.getId(), 0L)));
 
-        Map<String, Long> eventUriAndIdMap = events.stream()
-                .map(Event::getId)
-                .collect(Collectors.toMap(id -> "/events/" + id, Function.identity()));
-
-        List<StatsResponseDto> stats = statsClient.getStats(
-                StatsViewRequestDto.builder()
-                        .uris(new ArrayList<>(eventUriAndIdMap.keySet()))
-                        .unique(true)
-                        .build()
-        );
-
-        Map<String, Long> views = stats.stream()
-                .collect(Collectors.toMap(StatsResponseDto::getUri,
-                        StatsResponseDto::getHits
-                ));
-
-        return events.stream()
-                .map(event -> {
-                    EventShortDto eventShortDto = EventMapper.toEventShortDto(event);
-                    eventShortDto.setViews(views.getOrDefault("/events/" + event.getId(), 0L));
-                    return eventShortDto;
-                })
-                .collect(Collectors.toList());
+        return page;
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @Override
     public EventFullDto getEventById(Long id, HttpServletRequest request) {
-        Event event = eventRepository.findByIdAndState(id, EventState.PUBLISHED)
-                .orElseThrow(() -> new NotFoundException("Опубликованное событие с id:" + id + " не найдено"));
-
-        statsClient.createHit(new StatsRequestDto(
-                "ewm",
-                request.getRequestURI(),
-                request.getRemoteAddr(),
-                LocalDateTime.now()
-        ));
-
-        Long views = statsClient.getStats(
-                        StatsViewRequestDto.builder()
-                                .uris(List.of("/events/" + id))
-                                .start(event.getPublishedOn())
-                                .end(LocalDateTime.now())
-                                .unique(true)
-                                .build()
-
-                ).stream()
-                .findAny()
-                .map(StatsResponseDto::getHits)
-                .orElse(0L);
+        // Хит пишется только для существующего опубликованного события: дешёвая проверка по ключу идёт до него,
+        // а чтение события с категорией, инициатором и локацией - параллельно с ним.
+        if (!readInTransaction("getEventById", () -> eventRepository.existsByIdAndState(id, EventState.PUBLISHED))) {
+            throw new NotFoundException("Опубликованное событие с id:" + id + " не найдено");
+        }
+        CompletableFuture<?> hit = createHit(request);
+
+        EventFullDto eventFullDto = readInTransaction("getEventById", () -> eventRepository.findByIdAndState(id, EventState.PUBLISHED)
+                .map(EventMapper::toEventFullDto)
+                .orElseThrow(() -> new NotFoundException("Опубликованное событие с id:" + id + " не найдено")));
+
+        // Просмотры запрашиваются после хита, чтобы в них вошёл и текущий.
+        Long views = recordStatsCall("getEventById", () -> {
+            awaitHit(hit);
+            return statsClient.getStats(StatsViewRequestDto.builder()
+                            .uris(List.of(EVENT_URI + id))
+                            .start(eventFullDto.getPublishedOn())
+                            .end(LocalDateTime.now())
+                            .unique(true)
+                            .build())
+                    .stream()
+                    .findAny()
+                    .map(StatsResponseDto::getHits)
+                    .orElse(0L);
+        });
+        eventViewsSynchronizer.markViewed(id);
 
-        EventFullDto eventFullDto = EventMapper.toEventFullDto(event);
         eventFullDto.setViews(views);
 
         return eventFullDto;
     }
 
     @Override
-    public List<EventFullDto> getAdminEvents(List<Long> users, List<String> states,
-                                             List<Long> categories,
-                                             LocalDateTime rangeStart,
-                                             LocalDateTime rangeEnd,
-                                             Integer from,
-                                             Integer size) {
+    public List<EventSuggestionDto> suggestEvents(String query, Integer size) {
+        return eventTitleIndex.suggest(query, size);
+    }
 
+    @Override
+    public CursorPage<EventFullDto> getAdminEvents(List<Long> users, List<String> states,
+                                                   List<Long> categories,
+                                                   LocalDateTime rangeStart,
+                                                   LocalDateTime rangeEnd,
+                                                   Integer from,
+                                                   Integer size,
+                                                   String cursor) {
+        PageCursor pageCursor = PageCursor.decodeKey(cursor);
         Specification<Event> spec = Specification.where(EventSpecifications.userIn(users))
                 .and(EventSpecifications.stateIn(states))
                 .and(EventSpecifications.categoryIn(categories))
-                .and(EventSpecifications.dateBetween(rangeStart, rangeEnd));
-
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Direction.ASC, "eventDate"));
-
-        List<Event> events = eventRepository.findAll(spec, pageable).getContent();
-
-        events.forEach(e -> {
-            long confirmed = requestRepository.countByEventIdAndStatus(e.getId(), RequestStatus.CONFIRMED);
-            e.setConfirmedRequests(confirmed);
-        });
+                .and(EventSpecifications.dateBetween(rangeStart, rangeEnd))
+                .and(EventSpecifications.after(pageCursor));
 
+        Pageable pageable = OffsetPageRequest.forSlice(pageCursor, from, size, BY_EVENT_DATE);
 
-        return events.stream()
-                .map(e -> {
-                    EventFullDto dto = EventMapper.toEventFullDto(e);
-                    Long confirmed = requestRepository.countByEventIdAndStatus(e.getId(), RequestStatus.CONFIRMED);
-                    dto.setConfirmedRequests(confirmed);
-                    return dto;
-                })
-                .collect(Collectors.toList());
+        return CursorPage.of(eventRepository.findEventSlice(spec, pageable), size,
+                        event -> PageCursor.ofKey(event.getEventDate(), event.getId()))
+                .map(EventMapper::toEventFullDto);
     }
 
     @Transactional
     @Override
     public EventFullDto updateEventByAdmin(Long eventId, UpdateEventAdminRequest updateEventAdminRequest) {
-        Event event = eventRepository.findById(eventId)
+        // Строка events блокируется до event_search, как и на путях заявок, и сохраняется с актуальным счётчиком
+        Event event = eventRepository.findByIdForUpdate(eventId)
                 .orElseThrow(() -> new NotFoundException("Событие с id:" + eventId + " не найдено"));
 
         if (updateEventAdminRequest.getAnnotation() != null) {
@@ -382,6 +469,7 @@ public class EventServiceImpl implements EventService {
                     }
                     event.setState(EventState.PUBLISHED);
                     event.setPublishedOn(LocalDateTime.now());
+                    eventViewsRepository.save(new EventViews(event.getId(), 0L, null));
                     break;
                 case REJECT_EVENT:
                     if (event.getState() == EventState.PUBLISHED) {
@@ -392,16 +480,63 @@ public class EventServiceImpl implements EventService {
             }
         }
 
-        return EventMapper.toEventFullDto(eventRepository.save(event));
+        Event saved = eventRepository.save(event);
+        eventSearchProjection.refresh(saved.getId());
+        eventTitleIndex.onEventChanged(saved.getId(), saved.getTitle(), saved.getState());
+        publishedEventIndex.onEventChanged(saved);
+
+        return EventMapper.toEventFullDto(saved);
     }
 
-    private Sort sortBy(String sort) {
-        if ("views".equalsIgnoreCase(sort)) {
-            return Sort.by(Sort.Direction.DESC, "views");
+    /**
+     * Выполняет чтение из БД и сборку DTO в отдельной read-only транзакции, чтобы соединение вернулось в пул
+     * до обращений к серверу статистики. Длительность фиксируется в метрике ewm.event.read с тегом phase=db.
+     */
+    private <T> T readInTransaction(String operation, Supplier<T> reader) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        return readTimer(operation, "db").record(() -> transactionTemplate.execute(status -> reader.get()));
+    }
+
+    private <T> T readEvents(String operation, boolean inMemory, Supplier<T> reader) {
+        return inMemory ? readTimer(operation, "memory").record(reader) : readInTransaction(operation, reader);
+    }
+
+    /**
+     * Отправляет хит в сервис статистики, не дожидаясь ответа: запрос к БД выполняется параллельно с ним.
+     */
+    private CompletableFuture<?> createHit(HttpServletRequest request) {
+        return statsClient.createHitAsync(new StatsRequestDto(
+                "ewm",
+                request.getRequestURI(),
+                request.getRemoteAddr(),
+                LocalDateTime.now()
+        ));
+    }
+
+    /**
+     * Недоступность сервиса статистики не должна ломать публичное чтение, поэтому ошибка хита только логируется.
+     */
+    private void awaitHit(CompletableFuture<?> hit) {
+        try {
+            hit.join();
+        } catch (CompletionException e) {
+            log.warn("Не удалось отправить хит в сервис статистики: {}", e.getCause().getMessage());
         }
-        return Sort.by(Sort.Direction.ASC, "eventDate");
     }
 
+    private <T> T recordStatsCall(String operation, Supplier<T> call) {
+        return readTimer(operation, "stats").record(call);
+    }
+
+    private Timer readTimer(String operation, String phase) {
+        return Timer.builder("ewm.event.read")
+                .description("Время публичного чтения событий по фазам: работа с БД или индексом в памяти и обращения к серверу статистики")
+                .tag("operation", operation)
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
 
     private User findUser(Long id) {
         return userRepository.findById(id)
@@ -0,0 +1,150 @@
+package ru.practicum.event.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.StatsClient;
+import ru.practicum.StatsResponseDto;
+import ru.practicum.StatsViewRequestDto;
+import ru.practicum.event.model.EventViews;
+import ru.practicum.event.repository.EventViewsRepository;
+import ru.practicum.event.search.PublishedEventIndex;
+import ru.practicum.event.state.EventState;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Переносит уникальные просмотры опубликованных событий из сервиса статистики в таблицу event_views.
+ * <p>
+ * Инкрементальная синхронизация обновляет только события, которые этот узел отдавал через GET /events/{id}
+ * с прошлого запуска: хиты приходят в статистику через него же, поэтому каждый узел отвечает за свои.
+ * Полное обновление раз в full-refresh-interval проходит все опубликованные события пачками и подбирает
+ * всё, что инкрементальная синхронизация пропустила. Событие, по которому статистика не вернула строки,
+ * получает 0 просмотров. Если сервис статистики не ответил, прежние значения остаются как есть, а события
+ * инкрементальной синхронизации повторяются при следующем запуске.
+ */
+@Slf4j
+@Component
+public class EventViewsSynchronizer {
+    private static final String EVENT_URI = "/events/";
+
+    private final EventViewsRepository eventViewsRepository;
+    private final StatsClient statsClient;
+    private final EventSearchProjection eventSearchProjection;
+    private final PublishedEventIndex publishedEventIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Set<Long> viewed = ConcurrentHashMap.newKeySet();
+
+    public EventViewsSynchronizer(EventViewsRepository eventViewsRepository,
+                                  StatsClient statsClient,
+                                  EventSearchProjection eventSearchProjection,
+                                  PublishedEventIndex publishedEventIndex,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${ewm.views.batch-size:100}") int batchSize) {
+        this.eventViewsRepository = eventViewsRepository;
+        this.statsClient = statsClient;
+        this.eventSearchProjection = eventSearchProjection;
+        this.publishedEventIndex = publishedEventIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public void markViewed(Long eventId) {
+        viewed.add(eventId);
+    }
+
+    @Scheduled(fixedDelayString = "${ewm.views.sync-interval:PT30S}")
+    public void syncViewed() {
+        Integer inserted = transactionTemplate.execute(status -> eventViewsRepository.insertMissing(EventState.PUBLISHED));
+        if (inserted != null && inserted > 0) {
+            log.info("Заведены строки просмотров для опубликованных событий: {}", inserted);
+        }
+
+        // Пачка, которую не удалось обновить, возвращается в viewed и повторяется при следующем запуске
+        List<Long> eventIds = new ArrayList<>(viewed);
+        for (int i = 0; i < eventIds.size(); i += batchSize) {
+            List<Long> batch = eventIds.subList(i, Math.min(i + batchSize, eventIds.size()));
+            viewed.removeAll(batch);
+            boolean refreshed = false;
+            try {
+                refresh(batch);
+                refreshed = true;
+            } catch (RuntimeException e) {
+                log.warn("Не удалось обновить просмотры событий {}: {}", batch, e.getMessage());
+            } finally {
+                if (!refreshed) {
+                    viewed.addAll(batch);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ewm.views.full-refresh-interval:PT1H}",
+            initialDelayString = "${ewm.views.sync-interval:PT30S}")
+    public void refreshAll() {
+        long afterId = 0;
+        int refreshed = 0;
+        while (true) {
+            List<Long> eventIds = eventViewsRepository.findEventIds(EventState.PUBLISHED, afterId, Limit.of(batchSize));
+            if (eventIds.isEmpty()) {
+                break;
+            }
+            try {
+                refreshed += refresh(eventIds);
+            } catch (RuntimeException e) {
+                log.warn("Не удалось обновить просмотры событий {}: {}", eventIds, e.getMessage());
+            }
+            afterId = eventIds.get(eventIds.size() - 1);
+        }
+        log.info("Полное обновление просмотров завершено, обновлено событий: {}", refreshed);
+    }
+
+    /**
+     * Возвращает число обновлённых событий. Ошибка запроса к сервису статистики пробрасывается.
+     */
+    private int refresh(List<Long> eventIds) {
+        LocalDateTime start = eventViewsRepository.findFirstPublishedOn(eventIds);
+        if (start == null) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, Long> found = statsClient.fetchStats(
+                        StatsViewRequestDto.builder()
+                                .uris(eventIds.stream().map(id -> EVENT_URI + id).toList())
+                                .start(start)
+                                .end(now)
+                                .unique(true)
+                                .build()
+                ).stream()
+                .collect(Collectors.toMap(s -> Long.parseLong(s.getUri().substring(EVENT_URI.length())),
+                        StatsResponseDto::getHits,
+                        Long::sum));
+        // Нет строки в статистике - нет уникальных просмотров с публикации
+        Map<Long, Long> views = eventIds.stream()
+                .collect(Collectors.toMap(id -> id, id -> found.getOrDefault(id, 0L)));
+
+        Integer updated = transactionTemplate.execute(status -> {
+            List<EventViews> rows = eventViewsRepository.findAllById(views.keySet());
+            rows.forEach(row -> {
+                row.setViews(views.get(row.getEventId()));
+                row.setUpdatedOn(now);
+            });
+            eventSearchProjection.refreshViews(views.keySet());
+            publishedEventIndex.onViewsChanged(views);
+            return rows.size();
+        });
+        return updated != null ? updated : 0;
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.event.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.event.model.EventSearch;
+import ru.practicum.event.search.EventFullTextSearch;
+import ru.practicum.event.search.FullTextFunctionContributor;
+
+import java.util.List;
+
+/**
+ * Условия публичного поиска по таблице event_search. В ней только опубликованные события, а доступность
+ * посчитана заранее. Условия по оплате, датам и курсору общие с Event, см. {@link EventSpecifications}.
+ */
+public class EventSearchSpecifications {
+    /**
+     * Полнотекстовый поиск, см. {@link EventFullTextSearch}. Используется, только если он включён.
+     */
+    public static Specification<EventSearch> textMatches(String text) {
+        return (root, query, cb) -> {
+            if (text == null || text.isBlank()) return null;
+            return cb.isTrue(cb.function(FullTextFunctionContributor.MATCH, Boolean.class, root.get("id"), cb.literal(text)));
+        };
+    }
+
+    /**
+     * Упорядочивает результат по убыванию релевантности полнотекстовому запросу. Сортировка задаётся здесь,
+     * а не через Sort, потому что ей нужен текст запроса.
+     */
+    public static Specification<EventSearch> orderByRelevance(String text) {
+        return (root, query, cb) -> {
+            if (text == null || text.isBlank()) return null;
+            query.orderBy(
+                    cb.desc(cb.function(FullTextFunctionContributor.RANK, Double.class, root.get("id"), cb.literal(text))),
+                    cb.asc(root.get("id"))
+            );
+            return null;
+        };
+    }
+
+    public static Specification<EventSearch> categoryIn(List<Long> categories) {
+        return (root, query, cb) -> {
+            if (categories == null || categories.isEmpty()) return null;
+            return root.get("categoryId").in(categories);
+        };
+    }
+
+    public static Specification<EventSearch> onlyAvailable(Boolean onlyAvailable) {
+        return (root, query, cb) -> {
+            if (onlyAvailable == null || !onlyAvailable) return null;
+            return cb.isTrue(root.get("available"));
+        };
+    }
+
+}
@@ -3,11 +3,17 @@ package ru.practicum.event.specification;
 import org.springframework.data.jpa.domain.Specification;
 import ru.practicum.event.model.Event;
 import ru.practicum.event.state.EventState;
+import ru.practicum.pagination.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * Условия поиска событий. paidIs, dateBetween и after обращаются только к атрибутам с одинаковыми именами
+ * в Event и EventSearch и применяются к обеим сущностям; условия, зависящие от структуры таблицы event_search,
+ * собраны в {@link EventSearchSpecifications}.
+ */
 public class EventSpecifications {
     public static Specification<Event> textContains(String text) {
         return (root, query, cb) -> {
@@ -27,14 +33,14 @@ public class EventSpecifications {
         };
     }
 
-    public static Specification<Event> paidIs(Boolean paid) {
+    public static <T> Specification<T> paidIs(Boolean paid) {
         return (root, query, cb) -> {
             if (paid == null) return null;
             return cb.equal(root.get("paid"), paid);
         };
     }
 
-    public static Specification<Event> dateBetween(LocalDateTime start, LocalDateTime end) {
+    public static <T> Specification<T> dateBetween(LocalDateTime start, LocalDateTime end) {
         LocalDateTime startDate = (start != null) ? start : LocalDateTime.now();
 
         return (root, query, cb) -> {
@@ -49,7 +55,10 @@ public class EventSpecifications {
     public static Specification<Event> onlyAvailable(Boolean onlyAvailable) {
         return (root, query, cb) -> {
             if (onlyAvailable == null || !onlyAvailable) return null;
-            return cb.greaterThan(root.get("participantLimit"), root.get("confirmedRequests"));
+            return cb.or(
+                    cb.equal(root.get("participantLimit"), 0),
+                    cb.greaterThan(root.get("participantLimit"), cb.coalesce(root.get("confirmedRequests"), 0L))
+            );
         };
     }
 
@@ -73,4 +82,20 @@ public class EventSpecifications {
             return root.get("state").in(eventStates);
         };
     }
+
+    /**
+     * Строки после курсора в порядке (eventDate, id).
+     */
+    public static <T> Specification<T> after(PageCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) return null;
+            return cb.or(
+                    cb.greaterThan(root.get("eventDate"), cursor.eventDate()),
+                    cb.and(
+                            cb.equal(root.get("eventDate"), cursor.eventDate()),
+                            cb.greaterThan(root.get("id"), cursor.id())
+                    )
+            );
+        };
+    }
 }
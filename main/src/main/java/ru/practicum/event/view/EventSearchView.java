@@ -0,0 +1,27 @@
+package ru.practicum.event.view;
+
+import java.time.LocalDateTime;
+
+/**
+ * Краткое представление опубликованного события вместе с полями, по которым его ищут в памяти:
+ * лимит участников для фильтра доступности и просмотры для сортировки.
+ */
+public record EventSearchView(EventShortView event,
+                              Integer participantLimit,
+                              Long views) {
+    public EventSearchView(Long id,
+                           String annotation,
+                           Long categoryId,
+                           String categoryName,
+                           Long confirmedRequests,
+                           LocalDateTime eventDate,
+                           Long initiatorId,
+                           String initiatorName,
+                           Boolean paid,
+                           String title,
+                           Integer participantLimit,
+                           Long views) {
+        this(new EventShortView(id, annotation, categoryId, categoryName, confirmedRequests, eventDate,
+                initiatorId, initiatorName, paid, title), participantLimit, views);
+    }
+}
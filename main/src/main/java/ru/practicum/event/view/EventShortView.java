@@ -0,0 +1,19 @@
+package ru.practicum.event.view;
+
+import java.time.LocalDateTime;
+
+/**
+ * Колонки, нужные для краткого представления события: без описания и с полями категории и инициатора,
+ * выбранными тем же запросом.
+ */
+public record EventShortView(Long id,
+                             String annotation,
+                             Long categoryId,
+                             String categoryName,
+                             Long confirmedRequests,
+                             LocalDateTime eventDate,
+                             Long initiatorId,
+                             String initiatorName,
+                             Boolean paid,
+                             String title) {
+}
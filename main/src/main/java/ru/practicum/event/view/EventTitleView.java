@@ -0,0 +1,4 @@
+package ru.practicum.event.view;
+
+public record EventTitleView(Long id, String title) {
+}
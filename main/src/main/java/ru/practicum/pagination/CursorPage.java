@@ -0,0 +1,32 @@
+package ru.practicum.pagination;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Страница без подсчёта общего количества: запрашивается на одну строку больше размера страницы,
+ * и лишняя строка означает, что следующая страница есть и для неё выдаётся курсор.
+ */
+public record CursorPage<T>(List<T> content, String next) {
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursor) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(content, cursor.apply(content.get(size - 1)));
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).toList(), next);
+    }
+
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (next != null) {
+            response.header(PageCursor.HEADER, next);
+        }
+        return response.body(content);
+    }
+}
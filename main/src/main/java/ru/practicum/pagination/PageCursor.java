@@ -0,0 +1,96 @@
+package ru.practicum.pagination;
+
+import ru.practicum.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.function.Predicate;
+
+/**
+ * Непрозрачный курсор страницы. Хранит либо ключ последней отданной строки - (eventDate, id) или id,
+ * либо смещение для сортировок, по которым ключ строки не восстановить (просмотры, релевантность).
+ * Клиент получает курсор в заголовке {@value #HEADER} и передаёт его обратно параметром cursor.
+ */
+public record PageCursor(LocalDateTime eventDate, Long id, Long offset) {
+    public static final String HEADER = "X-Next-Cursor";
+
+    private static final String KEY = "k";
+    private static final String ID = "i";
+    private static final String OFFSET = "o";
+
+    public static String ofKey(LocalDateTime eventDate, Long id) {
+        return encode(KEY + ":" + eventDate + "," + id);
+    }
+
+    public static String ofId(Long id) {
+        return encode(ID + ":" + id);
+    }
+
+    public static String ofOffset(long offset) {
+        return encode(OFFSET + ":" + offset);
+    }
+
+    /**
+     * Разбирает курсор из запроса, null - первая страница.
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int colon = value.indexOf(':');
+            String type = value.substring(0, colon);
+            String body = value.substring(colon + 1);
+            return switch (type) {
+                case KEY -> {
+                    int comma = body.indexOf(',');
+                    yield new PageCursor(LocalDateTime.parse(body.substring(0, comma)),
+                            Long.parseLong(body.substring(comma + 1)), null);
+                }
+                case ID -> new PageCursor(null, Long.parseLong(body), null);
+                case OFFSET -> new PageCursor(null, null, Long.parseLong(body));
+                default -> throw new IllegalArgumentException(type);
+            };
+        } catch (RuntimeException e) {
+            throw new ValidationException("Некорректный курсор страницы: " + cursor);
+        }
+    }
+
+    /**
+     * Разбирает курсор выдачи, упорядоченной по id.
+     */
+    public static PageCursor decodeId(String cursor) {
+        return require(decode(cursor), c -> c.id() != null && c.eventDate() == null, cursor);
+    }
+
+    /**
+     * Разбирает курсор выдачи, упорядоченной по (eventDate, id).
+     */
+    public static PageCursor decodeKey(String cursor) {
+        return require(decode(cursor), c -> c.eventDate() != null, cursor);
+    }
+
+    /**
+     * Разбирает курсор-смещение для сортировок без ключа строки.
+     */
+    public static PageCursor decodeOffset(String cursor) {
+        return require(decode(cursor), c -> c.offset() != null, cursor);
+    }
+
+    public long afterId() {
+        return id != null ? id : 0L;
+    }
+
+    private static PageCursor require(PageCursor decoded, Predicate<PageCursor> condition, String cursor) {
+        if (decoded != null && !condition.test(decoded)) {
+            throw new ValidationException("Курсор не подходит для этой выдачи: " + cursor);
+        }
+        return decoded;
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
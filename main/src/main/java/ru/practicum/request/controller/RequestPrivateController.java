@@ -1,13 +1,17 @@
 package ru.practicum.request.controller;
 
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.request.dto.ParticipationRequestDto;
 import ru.practicum.request.service.RequestService;
+import ru.practicum.request.status.RequestStatus;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -17,9 +21,18 @@ public class RequestPrivateController {
     private final RequestService requestService;
 
     @GetMapping
-    public List<ParticipationRequestDto> getRequestsByUserId(@PathVariable(value = "userId") Long userId) {
-        log.info("GET /users/{}/requests", userId);
-        return requestService.getRequestsByUserId(userId);
+    public ResponseEntity<List<ParticipationRequestDto>> getRequestsByUserId(@PathVariable(value = "userId") Long userId,
+                                                                             @RequestParam(required = false) List<RequestStatus> status,
+                                                                             @RequestParam(defaultValue = "1000") @Positive Integer size,
+                                                                             @RequestParam(required = false) String cursor) {
+        log.info("GET /users/{}/requests?status={}&size={}", userId, status, size);
+        return requestService.getRequestsByUserId(userId, status, size, cursor).toResponse();
+    }
+
+    @GetMapping("/summary")
+    public Map<RequestStatus, Long> getRequestStatusSummary(@PathVariable(value = "userId") Long userId) {
+        log.info("GET /users/{}/requests/summary", userId);
+        return requestService.getRequestStatusSummary(userId);
     }
 
     @ResponseStatus(HttpStatus.CREATED)
@@ -19,7 +19,11 @@ import java.util.Objects;
 @Entity
 @Table(
         name = "requests",
-        uniqueConstraints = {@UniqueConstraint(columnNames = {"event_id", "requester_id"})}
+        uniqueConstraints = {@UniqueConstraint(name = "uq_request", columnNames = {"event_id", "requester_id"})},
+        indexes = {
+                @Index(name = "ix_requests_event_id_id", columnList = "event_id, id"),
+                @Index(name = "ix_requests_requester_id_id", columnList = "requester_id, id")
+        }
 )
 public class Request {
     @Id
@@ -1,21 +1,59 @@
 package ru.practicum.request.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.request.model.Request;
 import ru.practicum.request.status.RequestStatus;
+import ru.practicum.request.view.RequestStatusCountView;
 
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
-public interface RequestRepository extends JpaRepository<Request, Long> {
-    Boolean existsByRequesterIdAndEventId(Long requesterId, Long eventId);
-
+public interface RequestRepository extends JpaRepository<Request, Long>, RequestStatusRepository {
     Long countByEventIdAndStatus(Long eventId, RequestStatus status);
 
-    List<Request> findAllByRequesterId(Long requesterId);
+    @Query("SELECT r FROM Request AS r " +
+            "WHERE r.requester.id = :requesterId AND r.status IN :statuses AND r.id > :afterId " +
+            "ORDER BY r.id")
+    List<Request> findPageByRequesterId(Long requesterId, Collection<RequestStatus> statuses, long afterId, Limit limit);
+
+    @Query("SELECT r FROM Request AS r " +
+            "WHERE r.event.id = :eventId AND r.status IN :statuses AND r.id > :afterId " +
+            "ORDER BY r.id")
+    List<Request> findPageByEventId(Long eventId, Collection<RequestStatus> statuses, long afterId, Limit limit);
+
+    @Query("SELECT r.status AS status, COUNT(r) AS count FROM Request AS r " +
+            "WHERE r.requester.id = :requesterId GROUP BY r.status")
+    List<RequestStatusCountView> countGroupedByStatusForRequester(Long requesterId);
 
-    List<Request> findAllByEventId(Long eventId);
+    @Query("SELECT r.status AS status, COUNT(r) AS count FROM Request AS r " +
+            "WHERE r.event.id = :eventId GROUP BY r.status")
+    List<RequestStatusCountView> countGroupedByStatusForEvent(Long eventId);
+
+    /**
+     * Количество заявок пользователя по всем статусам одним агрегирующим запросом, отсутствующие статусы - нули.
+     */
+    default Map<RequestStatus, Long> countStatusesByRequesterId(Long requesterId) {
+        return toStatusCounts(countGroupedByStatusForRequester(requesterId));
+    }
+
+    default Map<RequestStatus, Long> countStatusesByEventId(Long eventId) {
+        return toStatusCounts(countGroupedByStatusForEvent(eventId));
+    }
 
     List<Request> findAllByIdIn(List<Long> ids);
 
-    List<Request> findAllByEventIdAndStatus(Long eventId, RequestStatus status);
+    Boolean existsByIdInAndStatusNot(List<Long> ids, RequestStatus status);
+
+    private static Map<RequestStatus, Long> toStatusCounts(List<RequestStatusCountView> views) {
+        Map<RequestStatus, Long> counts = new EnumMap<>(RequestStatus.class);
+        for (RequestStatus status : RequestStatus.values()) {
+            counts.put(status, 0L);
+        }
+        views.forEach(v -> counts.put(v.getStatus(), v.getCount()));
+        return counts;
+    }
 }
@@ -0,0 +1,15 @@
+package ru.practicum.request.repository;
+
+import ru.practicum.request.dto.ParticipationRequestDto;
+import ru.practicum.request.status.RequestStatus;
+
+import java.util.List;
+
+public interface RequestStatusRepository {
+    /**
+     * Переводит заявки события в статусе PENDING в статус status одним UPDATE и возвращает изменённые строки.
+     * requestIds == null означает все ожидающие заявки события, limit == null - без ограничения количества.
+     * При ограничении изменяются заявки с наименьшими id.
+     */
+    List<ParticipationRequestDto> updatePendingStatus(Long eventId, List<Long> requestIds, RequestStatus status, Long limit);
+}
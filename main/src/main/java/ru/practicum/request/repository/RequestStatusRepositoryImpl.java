@@ -0,0 +1,69 @@
+package ru.practicum.request.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.request.dto.ParticipationRequestDto;
+import ru.practicum.request.status.RequestStatus;
+
+import java.util.List;
+
+/**
+ * Смена статусов заявок набором строк: в PostgreSQL через UPDATE ... RETURNING, в H2 через
+ * SELECT ... FROM FINAL TABLE (UPDATE ...). Сущности Request при этом не загружаются.
+ * Условие status = 'PENDING' повторено во внешнем UPDATE, чтобы строка, изменённая параллельной
+ * транзакцией, была перепроверена и не изменилась второй раз.
+ */
+@RequiredArgsConstructor
+public class RequestStatusRepositoryImpl implements RequestStatusRepository {
+    private static final String COLUMNS = "id, create_date, event_id, requester_id, status";
+
+    private static final RowMapper<ParticipationRequestDto> ROW_MAPPER = (rs, rowNum) -> new ParticipationRequestDto(
+            rs.getLong("id"),
+            rs.getTimestamp("create_date").toLocalDateTime(),
+            rs.getLong("event_id"),
+            rs.getLong("requester_id"),
+            RequestStatus.valueOf(rs.getString("status"))
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    @Override
+    public List<ParticipationRequestDto> updatePendingStatus(Long eventId, List<Long> requestIds, RequestStatus status, Long limit) {
+        if (requestIds != null && requestIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("eventId", eventId)
+                .addValue("status", status.name())
+                .addValue("pending", RequestStatus.PENDING.name());
+
+        StringBuilder target = new StringBuilder("SELECT id FROM requests WHERE event_id = :eventId AND status = :pending");
+        if (requestIds != null) {
+            target.append(" AND id IN (:requestIds)");
+            params.addValue("requestIds", requestIds);
+        }
+        if (limit != null) {
+            target.append(" ORDER BY id LIMIT :limit");
+            params.addValue("limit", limit);
+        }
+
+        String update = "UPDATE requests SET status = :status WHERE status = :pending AND id IN (" + target + ")";
+        String sql = isPostgres()
+                ? update + " RETURNING " + COLUMNS
+                : "SELECT " + COLUMNS + " FROM FINAL TABLE (" + update + ") ORDER BY id";
+
+        return jdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+}
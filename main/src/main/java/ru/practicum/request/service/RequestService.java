@@ -1,13 +1,18 @@
 package ru.practicum.request.service;
 
+import ru.practicum.pagination.CursorPage;
 import ru.practicum.request.dto.ParticipationRequestDto;
+import ru.practicum.request.status.RequestStatus;
 
 import java.util.List;
+import java.util.Map;
 
 public interface RequestService {
     ParticipationRequestDto createRequest(Long userId, Long eventId);
 
-    List<ParticipationRequestDto> getRequestsByUserId(Long userId);
+    CursorPage<ParticipationRequestDto> getRequestsByUserId(Long userId, List<RequestStatus> statuses, Integer size, String cursor);
+
+    Map<RequestStatus, Long> getRequestStatusSummary(Long userId);
 
     ParticipationRequestDto cancelRequest(Long userId, Long requestId);
 }
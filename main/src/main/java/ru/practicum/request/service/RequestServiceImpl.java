@@ -2,13 +2,20 @@ package ru.practicum.request.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.event.model.Event;
 import ru.practicum.event.repository.EventRepository;
+import ru.practicum.event.search.PublishedEventIndex;
+import ru.practicum.event.service.EventSearchProjection;
 import ru.practicum.event.state.EventState;
 import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.NotFoundException;
+import ru.practicum.pagination.CursorPage;
+import ru.practicum.pagination.PageCursor;
 import ru.practicum.request.dto.ParticipationRequestDto;
 import ru.practicum.request.dto.mapper.RequestMapper;
 import ru.practicum.request.model.Request;
@@ -18,16 +25,23 @@ import ru.practicum.user.model.User;
 import ru.practicum.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @Transactional(readOnly = true)
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class RequestServiceImpl implements RequestService {
+    private static final String DUPLICATE_REQUEST_CONSTRAINT = "uq_request";
+
     private final RequestRepository requestRepository;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
+    private final EventSearchProjection eventSearchProjection;
+    private final PublishedEventIndex publishedEventIndex;
 
     @Transactional
     @Override
@@ -43,12 +57,7 @@ public class RequestServiceImpl implements RequestService {
             throw new ConflictException("Нельзя участвовать в неопубликованном событии");
         }
 
-        boolean exists = requestRepository.existsByRequesterIdAndEventId(userId, eventId);
-        if (exists) {
-            throw new ConflictException("Нельзя добавить повторный запрос на участие в событии");
-        }
-
-        long confirmedRequests = requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED);
+        long confirmedRequests = event.getConfirmedRequests() != null ? event.getConfirmedRequests() : 0L;
         if (event.getParticipantLimit() != null && event.getParticipantLimit() > 0 &&
                 confirmedRequests >= event.getParticipantLimit()) {
             throw new ConflictException("Достигнут лимит запросов на участие в событии");
@@ -65,18 +74,49 @@ public class RequestServiceImpl implements RequestService {
             request.setStatus(RequestStatus.PENDING);
         }
 
-        return RequestMapper.toParticipationRequestDto(requestRepository.save(request));
+        Request saved;
+        try {
+            saved = requestRepository.saveAndFlush(request);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateRequest(e)) {
+                throw new ConflictException("Нельзя добавить повторный запрос на участие в событии");
+            }
+            throw e;
+        }
+
+        // Место занимается в конце транзакции, чтобы блокировка строки события держалась недолго.
+        // Строки блокируются в одном порядке на всех путях: сначала events, затем event_search.
+        if (saved.getStatus() == RequestStatus.CONFIRMED) {
+            if (eventRepository.reserveConfirmedRequests(eventId, 1) == 0) {
+                throw new ConflictException("Достигнут лимит запросов на участие в событии");
+            }
+            eventSearchProjection.addConfirmedRequests(eventId, 1);
+            publishedEventIndex.onConfirmedRequestsAdded(eventId, 1);
+        }
+
+        return RequestMapper.toParticipationRequestDto(saved);
     }
 
     @Override
-    public List<ParticipationRequestDto> getRequestsByUserId(Long userId) {
+    public CursorPage<ParticipationRequestDto> getRequestsByUserId(Long userId, List<RequestStatus> statuses,
+                                                                   Integer size, String cursor) {
         findUser(userId);
 
-        List<Request> requests = requestRepository.findAllByRequesterId(userId);
+        PageCursor pageCursor = PageCursor.decodeId(cursor);
+        List<Request> requests = requestRepository.findPageByRequesterId(userId,
+                statuses == null || statuses.isEmpty() ? EnumSet.allOf(RequestStatus.class) : statuses,
+                pageCursor != null ? pageCursor.afterId() : 0L,
+                Limit.of(size + 1));
 
-        return requests.stream()
-                .map(RequestMapper::toParticipationRequestDto)
-                .toList();
+        return CursorPage.of(requests, size, request -> PageCursor.ofId(request.getId()))
+                .map(RequestMapper::toParticipationRequestDto);
+    }
+
+    @Override
+    public Map<RequestStatus, Long> getRequestStatusSummary(Long userId) {
+        findUser(userId);
+
+        return requestRepository.countStatusesByRequesterId(userId);
     }
 
     @Transactional
@@ -91,9 +131,16 @@ public class RequestServiceImpl implements RequestService {
             throw new NotFoundException("Заявка с id:" + requestId + " недоступна для пользователя c id:" + userId);
         }
 
+        boolean wasConfirmed = request.getStatus() == RequestStatus.CONFIRMED;
         request.setStatus(RequestStatus.CANCELED);
+        Request saved = requestRepository.save(request);
+        if (wasConfirmed) {
+            eventRepository.addConfirmedRequests(saved.getEvent().getId(), -1);
+            eventSearchProjection.addConfirmedRequests(saved.getEvent().getId(), -1);
+            publishedEventIndex.onConfirmedRequestsAdded(saved.getEvent().getId(), -1);
+        }
 
-        return RequestMapper.toParticipationRequestDto(requestRepository.save(request));
+        return RequestMapper.toParticipationRequestDto(saved);
     }
 
     private User findUser(Long id) {
@@ -105,4 +152,13 @@ public class RequestServiceImpl implements RequestService {
         return eventRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Событие с id:" + id + " не найдено"));
     }
+
+    /**
+     * H2 сообщает имя индекса ограничения (UQ_REQUEST_INDEX_...), PostgreSQL - само имя ограничения.
+     */
+    private static boolean isDuplicateRequest(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(DUPLICATE_REQUEST_CONSTRAINT);
+    }
 }
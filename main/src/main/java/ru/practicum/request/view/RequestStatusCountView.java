@@ -0,0 +1,9 @@
+package ru.practicum.request.view;
+
+import ru.practicum.request.status.RequestStatus;
+
+public interface RequestStatusCountView {
+    RequestStatus getStatus();
+
+    Long getCount();
+}
@@ -9,5 +9,7 @@ import java.util.List;
 public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
-    List<User> findByIdIn(List<Long> ids, Pageable pageable);
+    List<User> findByIdGreaterThan(Long id, Pageable pageable);
+
+    List<User> findByIdInAndIdGreaterThan(List<Long> ids, Long id, Pageable pageable);
 }
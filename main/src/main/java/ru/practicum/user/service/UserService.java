@@ -1,12 +1,13 @@
 package ru.practicum.user.service;
 
+import ru.practicum.pagination.CursorPage;
 import ru.practicum.user.dto.NewUserRequest;
 import ru.practicum.user.dto.UserDto;
 
 import java.util.List;
 
 public interface UserService {
-    List<UserDto> getUsers(List<Long> ids, Integer from, Integer size);
+    CursorPage<UserDto> getUsers(List<Long> ids, Integer from, Integer size, String cursor);
 
     UserDto createUser(NewUserRequest newUserRequest);
 
@@ -2,18 +2,22 @@ package ru.practicum.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.NotFoundException;
+import ru.practicum.pagination.CursorPage;
+import ru.practicum.pagination.OffsetPageRequest;
+import ru.practicum.pagination.PageCursor;
 import ru.practicum.user.dto.NewUserRequest;
 import ru.practicum.user.dto.UserDto;
 import ru.practicum.user.dto.mapper.UserMapper;
+import ru.practicum.user.model.User;
 import ru.practicum.user.repository.UserRepository;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Transactional(readOnly = true)
 @Slf4j
@@ -23,20 +27,17 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
 
     @Override
-    public List<UserDto> getUsers(List<Long> ids, Integer from, Integer size) {
-        PageRequest page = PageRequest.of(from / size, size);
-
-        if (ids != null && !ids.isEmpty()) {
-            return userRepository.findByIdIn(ids, page)
-                    .stream()
-                    .map(UserMapper::toUserDto)
-                    .collect(Collectors.toList());
-        } else {
-            return userRepository.findAll(page)
-                    .stream()
-                    .map(UserMapper::toUserDto)
-                    .collect(Collectors.toList());
-        }
+    public CursorPage<UserDto> getUsers(List<Long> ids, Integer from, Integer size, String cursor) {
+        PageCursor pageCursor = PageCursor.decodeId(cursor);
+        long afterId = pageCursor != null ? pageCursor.afterId() : 0L;
+        Pageable pageable = OffsetPageRequest.forSlice(pageCursor, from, size, Sort.by("id").ascending());
+
+        List<User> users = ids != null && !ids.isEmpty()
+                ? userRepository.findByIdInAndIdGreaterThan(ids, afterId, pageable)
+                : userRepository.findByIdGreaterThan(afterId, pageable);
+
+        return CursorPage.of(users, size, user -> PageCursor.ofId(user.getId()))
+                .map(UserMapper::toUserDto);
     }
 
     @Transactional
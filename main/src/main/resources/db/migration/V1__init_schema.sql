@@ -42,6 +42,10 @@ create table IF NOT EXISTS events (
     CONSTRAINT pk_event_id PRIMARY KEY (id)
 );
 
+create index IF NOT EXISTS ix_events_event_date_id ON events (event_date, id);
+
+create index IF NOT EXISTS ix_events_initiator_id_event_date_id ON events (initiator_id, event_date, id);
+
 create table IF NOT EXISTS requests (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     create_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
@@ -54,6 +58,44 @@ create table IF NOT EXISTS requests (
     CONSTRAINT pk_request_id PRIMARY KEY (id)
 );
 
+create index IF NOT EXISTS ix_requests_event_id_id ON requests (event_id, id);
+
+create index IF NOT EXISTS ix_requests_requester_id_id ON requests (requester_id, id);
+
+create table IF NOT EXISTS event_views (
+    event_id BIGINT NOT NULL,
+    views BIGINT NOT NULL DEFAULT 0,
+    updated_on TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT fk_event_views_event FOREIGN KEY (event_id) REFERENCES events (id) ON delete cascade,
+    CONSTRAINT pk_event_views PRIMARY KEY (event_id)
+);
+
+create index IF NOT EXISTS ix_event_views_views ON event_views (views DESC, event_id);
+
+create table IF NOT EXISTS event_search (
+    event_id BIGINT NOT NULL,
+    annotation VARCHAR(2000) NOT NULL,
+    category_id BIGINT NOT NULL,
+    category_name VARCHAR(50) NOT NULL,
+    confirmed_requests BIGINT NOT NULL,
+    event_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    initiator_id BIGINT NOT NULL,
+    initiator_name VARCHAR(250) NOT NULL,
+    paid BOOLEAN NOT NULL,
+    title VARCHAR(120) NOT NULL,
+    participant_limit INTEGER NOT NULL,
+    available BOOLEAN NOT NULL,
+    views BIGINT NOT NULL,
+    CONSTRAINT fk_event_search_event FOREIGN KEY (event_id) REFERENCES events (id) ON delete cascade,
+    CONSTRAINT pk_event_search PRIMARY KEY (event_id)
+);
+
+create index IF NOT EXISTS ix_event_search_event_date_id ON event_search (event_date, event_id);
+
+create index IF NOT EXISTS ix_event_search_category_id_event_date ON event_search (category_id, event_date);
+
+create index IF NOT EXISTS ix_event_search_views ON event_search (views DESC, event_id);
+
 create table IF NOT EXISTS compilations (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     title  VARCHAR(50) NOT NULL,
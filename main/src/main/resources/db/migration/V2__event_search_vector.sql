@@ -0,0 +1,6 @@
+-- Вектор полнотекстового поиска событий, см. EventFullTextSearch. Добавление генерируемого столбца
+-- переписывает таблицу events под ACCESS EXCLUSIVE, поэтому выполняется при развёртывании, а не при старте.
+ALTER TABLE events ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('russian', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('russian', coalesce(annotation, '')), 'B') ||
+    setweight(to_tsvector('russian', coalesce(description, '')), 'C')) STORED;
@@ -0,0 +1,2 @@
+-- CONCURRENTLY не блокирует запись в events и не выполняется в транзакции, поэтому отдельной миграцией.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_events_search_vector ON events USING GIN (search_vector);
@@ -0,0 +1,16 @@
+-- Раньше events.confirmed_requests не обновлялся, а подтверждённые заявки считались запросом к requests.
+-- Теперь лимит участников проверяется по счётчику, поэтому до приёма заявок он пересчитывается по факту,
+-- вместе с копией в event_search.
+UPDATE events AS e
+SET confirmed_requests = c.confirmed
+FROM (SELECT ev.id, COUNT(r.id) AS confirmed
+      FROM events AS ev
+      LEFT JOIN requests AS r ON r.event_id = ev.id AND r.status = 'CONFIRMED'
+      GROUP BY ev.id) AS c
+WHERE c.id = e.id AND e.confirmed_requests IS DISTINCT FROM c.confirmed;
+
+UPDATE event_search AS s
+SET confirmed_requests = e.confirmed_requests,
+    available = (s.participant_limit = 0 OR e.confirmed_requests < s.participant_limit)
+FROM events AS e
+WHERE e.id = s.event_id AND s.confirmed_requests <> e.confirmed_requests;
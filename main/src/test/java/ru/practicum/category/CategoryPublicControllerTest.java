@@ -14,11 +14,13 @@ import ru.practicum.category.controller.CategoryPublicController;
 import ru.practicum.category.dto.CategoryDto;
 import ru.practicum.category.service.CategoryService;
 import ru.practicum.error.ErrorHandler;
+import ru.practicum.pagination.CursorPage;
 
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -54,8 +56,8 @@ public class CategoryPublicControllerTest {
                 new CategoryDto(2L, "Фестиваль")
         );
 
-        when(categoryService.getCategories(anyInt(), anyInt()))
-                .thenReturn(categories);
+        when(categoryService.getCategories(anyInt(), anyInt(), isNull()))
+                .thenReturn(new CursorPage<>(categories, null));
 
         mvc.perform(get("/categories")
                         .param("from", "0")
@@ -110,7 +110,7 @@ public class CategoryServiceImplTest {
 
     @Test
     void mustReturnPaginatedCategories() {
-        List<CategoryDto> categories = categoryService.getCategories(0, 10);
+        List<CategoryDto> categories = categoryService.getCategories(0, 10, null).content();
 
         assertThat(categories.get(0).getName()).isEqualTo("Кино");
     }
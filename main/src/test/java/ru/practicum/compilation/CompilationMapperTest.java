@@ -7,6 +7,8 @@ import ru.practicum.compilation.dto.CompilationDto;
 import ru.practicum.compilation.dto.NewCompilationDto;
 import ru.practicum.compilation.dto.mapper.CompilationMapper;
 import ru.practicum.compilation.model.Compilation;
+import ru.practicum.event.dto.EventShortDto;
+import ru.practicum.event.dto.mapper.EventMapper;
 import ru.practicum.event.model.Event;
 import ru.practicum.event.state.EventState;
 import ru.practicum.user.model.User;
@@ -46,11 +48,14 @@ public class CompilationMapperTest {
                 events
         );
 
-        CompilationDto result = CompilationMapper.toCompilationDto(compilation);
+        Set<EventShortDto> eventDtos = Set.of(EventMapper.toEventShortDto(event));
+
+        CompilationDto result = CompilationMapper.toCompilationDto(compilation, eventDtos);
 
         AssertionsForClassTypes.assertThat(result.getId()).isEqualTo(1L);
         AssertionsForClassTypes.assertThat(result.getTitle()).isEqualTo("Подборка сериалов");
         AssertionsForClassTypes.assertThat(result.getPinned()).isTrue();
+        AssertionsForClassTypes.assertThat(result.getEvents()).isEqualTo(eventDtos);
     }
 
     @Test
@@ -14,6 +14,9 @@ import ru.practicum.compilation.controller.CompilationPublicController;
 import ru.practicum.compilation.dto.CompilationDto;
 import ru.practicum.compilation.service.CompilationService;
 import ru.practicum.error.ErrorHandler;
+import ru.practicum.event.dto.EventShortDto;
+import ru.practicum.pagination.CursorPage;
+import ru.practicum.pagination.PageCursor;
 
 import java.util.List;
 import java.util.Set;
@@ -21,8 +24,10 @@ import java.util.Set;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -58,8 +63,8 @@ public class CompilationPublicControllerTest {
     void mustReturnAllCompilations() throws Exception {
         List<CompilationDto> compilations = List.of(compilationDto1, compilationDto2);
 
-        when(compilationService.getCompilations(any(), anyInt(), anyInt()))
-                .thenReturn(compilations);
+        when(compilationService.getCompilations(any(), anyInt(), anyInt(), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(compilations, null));
 
         mvc.perform(get("/compilations")
                         .param("from", "0")
@@ -77,7 +82,7 @@ public class CompilationPublicControllerTest {
 
     @Test
     void mustReturnCompilationById() throws Exception {
-        when(compilationService.getCompilationById(1L))
+        when(compilationService.getCompilationById(1L, null))
                 .thenReturn(compilationDto1);
 
         mvc.perform(get("/compilations/1")
@@ -87,4 +92,23 @@ public class CompilationPublicControllerTest {
                 .andExpect(jsonPath("$.title", is("Подборка сериалов")))
                 .andExpect(jsonPath("$.pinned", is(true)));
     }
+
+    @Test
+    void mustReturnCompilationEventsWithNextCursor() throws Exception {
+        EventShortDto event = new EventShortDto();
+        event.setId(5L);
+        event.setTitle("Сериал Друзья");
+
+        when(compilationService.getCompilationEvents(1L, 0, 1, null))
+                .thenReturn(new CursorPage<>(List.of(event), "next"));
+
+        mvc.perform(get("/compilations/1/events")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.HEADER, "next"))
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$[0].id", is(5)))
+                .andExpect(jsonPath("$[0].title", is("Сериал Друзья")));
+    }
 }
@@ -15,9 +15,12 @@ import ru.practicum.compilation.dto.NewCompilationDto;
 import ru.practicum.compilation.dto.UpdateCompilationRequest;
 import ru.practicum.compilation.model.Compilation;
 import ru.practicum.compilation.service.CompilationService;
+import ru.practicum.event.dto.EventShortDto;
 import ru.practicum.event.model.Event;
+import ru.practicum.event.service.EventSearchProjection;
 import ru.practicum.event.state.EventState;
 import ru.practicum.exception.NotFoundException;
+import ru.practicum.pagination.CursorPage;
 import ru.practicum.user.model.User;
 
 import java.time.LocalDateTime;
@@ -34,9 +37,11 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 public class CompilationServiceImplTest {
     private final EntityManager em;
     private final CompilationService compilationService;
+    private final EventSearchProjection eventSearchProjection;
 
     private Long compilationId;
     private Long eventId;
+    private Long categoryId;
 
     @BeforeEach
     void setUp() {
@@ -63,6 +68,7 @@ public class CompilationServiceImplTest {
         em.flush();
 
         eventId = event.getId();
+        categoryId = category.getId();
 
         Compilation compilation = new Compilation();
         compilation.setTitle("Подборка сериалов");
@@ -77,7 +83,7 @@ public class CompilationServiceImplTest {
 
     @Test
     void mustReturnCompilationById() {
-        CompilationDto dto = compilationService.getCompilationById(compilationId);
+        CompilationDto dto = compilationService.getCompilationById(compilationId, null);
 
         assertThat(dto.getId()).isEqualTo(compilationId);
         assertThat(dto.getTitle()).isEqualTo("Подборка сериалов");
@@ -87,7 +93,7 @@ public class CompilationServiceImplTest {
 
     @Test
     void shouldThrowNotFoundExceptionForInvalidId() {
-        assertThrows(NotFoundException.class, () -> compilationService.getCompilationById(999999L));
+        assertThrows(NotFoundException.class, () -> compilationService.getCompilationById(999999L, null));
     }
 
     @Test
@@ -124,12 +130,12 @@ public class CompilationServiceImplTest {
     void mustDeleteCompilation() {
         compilationService.deleteCompilation(compilationId);
 
-        assertThrows(NotFoundException.class, () -> compilationService.getCompilationById(compilationId));
+        assertThrows(NotFoundException.class, () -> compilationService.getCompilationById(compilationId, null));
     }
 
     @Test
     void mustReturnPaginatedCompilations() {
-        List<CompilationDto> compilations = compilationService.getCompilations(null, 0, 10);
+        List<CompilationDto> compilations = compilationService.getCompilations(null, 0, 10, null, null).content();
 
         assertThat(compilations).isNotEmpty();
         assertThat(compilations.get(0).getTitle()).isEqualTo("Подборка сериалов");
@@ -137,7 +143,7 @@ public class CompilationServiceImplTest {
 
     @Test
     void mustReturnPinnedCompilationsOnly() {
-        List<CompilationDto> pinned = compilationService.getCompilations(true, 0, 10);
+        List<CompilationDto> pinned = compilationService.getCompilations(true, 0, 10, null, null).content();
 
         assertThat(pinned).hasSize(1);
         assertThat(pinned.get(0).getPinned()).isTrue();
@@ -145,8 +151,48 @@ public class CompilationServiceImplTest {
 
     @Test
     void mustReturnEmptyListForUnpinnedFilter() {
-        List<CompilationDto> unpinned = compilationService.getCompilations(false, 0, 10);
+        List<CompilationDto> unpinned = compilationService.getCompilations(false, 0, 10, null, null).content();
 
         assertThat(unpinned).isEmpty();
     }
+
+    @Test
+    void mustRenderPublishedEventsFromSearchTable() {
+        eventSearchProjection.refresh(eventId);
+        eventSearchProjection.renameCategory(categoryId, "Мультсериалы");
+
+        CompilationDto dto = compilationService.getCompilationById(compilationId, null);
+
+        assertThat(dto.getEvents()).hasSize(1);
+        assertThat(dto.getEvents().iterator().next().getCategory().getName()).isEqualTo("Мультсериалы");
+    }
+
+    @Test
+    void mustBoundCompilationEventsAndPageTheRest() {
+        Event first = em.find(Event.class, eventId);
+        Event second = new Event();
+        second.setTitle("Сериал Офис");
+        second.setAnnotation("Аннотация");
+        second.setDescription("Описание");
+        second.setCreatedOn(LocalDateTime.now());
+        second.setEventDate(LocalDateTime.now().plusDays(2));
+        second.setState(EventState.PENDING);
+        second.setCategory(first.getCategory());
+        second.setInitiator(first.getInitiator());
+        em.persist(second);
+        compilationService.updateCompilation(compilationId,
+                new UpdateCompilationRequest(Set.of(eventId, second.getId()), null, null));
+
+        CompilationDto dto = compilationService.getCompilationById(compilationId, 1);
+        assertThat(dto.getEvents()).extracting(EventShortDto::getId).containsExactly(eventId);
+
+        CursorPage<EventShortDto> page = compilationService.getCompilationEvents(compilationId, 0, 1, null);
+        assertThat(page.content()).extracting(EventShortDto::getId).containsExactly(eventId);
+        assertThat(page.next()).isNotNull();
+
+        page = compilationService.getCompilationEvents(compilationId, 0, 1, page.next());
+        assertThat(page.content()).extracting(EventShortDto::getId).containsExactly(second.getId());
+        assertThat(page.content().get(0).getViews()).isZero();
+        assertThat(page.next()).isNull();
+    }
 }
@@ -17,6 +17,8 @@ import ru.practicum.event.dto.EventFullDto;
 import ru.practicum.event.dto.UpdateEventAdminRequest;
 import ru.practicum.event.service.EventService;
 import ru.practicum.location.dto.LocationDto;
+import ru.practicum.pagination.CursorPage;
+import ru.practicum.pagination.PageCursor;
 import ru.practicum.user.dto.UserShortDto;
 
 import java.time.LocalDateTime;
@@ -24,9 +26,11 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -86,8 +90,8 @@ class EventAdminControllerTest {
 
         when(eventService.getAdminEvents(
                 eq(users), eq(states), eq(categories),
-                any(), any(), eq(0), eq(10)
-        )).thenReturn(List.of(eventFullDto));
+                any(), any(), eq(0), eq(10), isNull()
+        )).thenReturn(new CursorPage<>(List.of(eventFullDto), "next"));
 
         mvc.perform(get("/admin/events")
                         .param("users", "1", "2")
@@ -96,6 +100,7 @@ class EventAdminControllerTest {
                         .param("from", "0")
                         .param("size", "10"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.HEADER, "next"))
                 .andExpect(jsonPath("$[0].id").value(eventFullDto.getId()))
                 .andExpect(jsonPath("$[0].annotation").value(eventFullDto.getAnnotation()))
                 .andExpect(jsonPath("$[0].category.id").value(eventFullDto.getCategory().getId()))
@@ -9,6 +9,7 @@ import ru.practicum.event.dto.NewEventDto;
 import ru.practicum.event.dto.mapper.EventMapper;
 import ru.practicum.event.model.Event;
 import ru.practicum.event.state.EventState;
+import ru.practicum.event.view.EventShortView;
 import ru.practicum.location.dto.LocationDto;
 import ru.practicum.location.model.Location;
 import ru.practicum.user.model.User;
@@ -84,6 +85,32 @@ public class EventMapperTest {
         AssertionsForClassTypes.assertThat(result.getConfirmedRequests()).isEqualTo(5L);
     }
 
+    @Test
+    void shouldMapEventShortViewToEventShortDto() {
+        EventShortView view = new EventShortView(
+                1L,
+                "Аннотация",
+                2L,
+                "Концерт",
+                5L,
+                LocalDateTime.of(2025, 5, 2, 12, 0),
+                3L,
+                "Макс Иванов",
+                true,
+                "Заголовок"
+        );
+
+        EventShortDto result = EventMapper.toEventShortDto(view);
+
+        AssertionsForClassTypes.assertThat(result.getId()).isEqualTo(1L);
+        AssertionsForClassTypes.assertThat(result.getCategory().getId()).isEqualTo(2L);
+        AssertionsForClassTypes.assertThat(result.getCategory().getName()).isEqualTo("Концерт");
+        AssertionsForClassTypes.assertThat(result.getInitiator().getId()).isEqualTo(3L);
+        AssertionsForClassTypes.assertThat(result.getInitiator().getName()).isEqualTo("Макс Иванов");
+        AssertionsForClassTypes.assertThat(result.getConfirmedRequests()).isEqualTo(5L);
+        AssertionsForClassTypes.assertThat(result.getViews()).isNull();
+    }
+
     @Test
     void shouldMapNewEventDtoToEvent() {
         NewEventDto newEventDto = new NewEventDto(
@@ -16,6 +16,7 @@ import ru.practicum.event.controller.EventPrivateController;
 import ru.practicum.event.dto.*;
 import ru.practicum.event.service.EventService;
 import ru.practicum.location.dto.LocationDto;
+import ru.practicum.pagination.CursorPage;
 import ru.practicum.request.dto.ParticipationRequestDto;
 import ru.practicum.request.status.RequestStatus;
 import ru.practicum.user.dto.UserShortDto;
@@ -128,8 +129,8 @@ class EventPrivateControllerTest {
 
     @Test
     void mustReturnEventsByUserId() throws Exception {
-        when(eventService.getEventsByUserId(eq(1L), anyInt(), anyInt()))
-                .thenReturn(List.of(eventShortDto));
+        when(eventService.getEventsByUserId(eq(1L), anyInt(), anyInt(), isNull()))
+                .thenReturn(new CursorPage<>(List.of(eventShortDto), null));
 
         mvc.perform(get("/users/1/events")
                         .param("from", "0")
@@ -221,8 +222,8 @@ class EventPrivateControllerTest {
 
     @Test
     void mustReturnEventRequests() throws Exception {
-        when(eventService.getEventRequestsByUserIdAndEventId(1L, 1L))
-                .thenReturn(List.of());
+        when(eventService.getEventRequestsByUserIdAndEventId(eq(1L), eq(1L), isNull(), eq(1000), isNull()))
+                .thenReturn(new CursorPage<>(List.of(), null));
 
         mvc.perform(get("/users/1/events/1/requests"))
                 .andExpect(status().isOk())
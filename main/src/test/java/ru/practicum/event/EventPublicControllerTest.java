@@ -15,8 +15,10 @@ import ru.practicum.error.ErrorHandler;
 import ru.practicum.event.controller.EventPublicController;
 import ru.practicum.event.dto.EventFullDto;
 import ru.practicum.event.dto.EventShortDto;
+import ru.practicum.event.dto.EventSuggestionDto;
 import ru.practicum.event.service.EventService;
 import ru.practicum.location.dto.LocationDto;
+import ru.practicum.pagination.CursorPage;
 import ru.practicum.user.dto.UserShortDto;
 
 import java.time.LocalDateTime;
@@ -96,9 +98,9 @@ class EventPublicControllerTest {
                 anyString(), anyList(), anyBoolean(),
                 any(), any(),
                 anyBoolean(), anyString(),
-                anyInt(), anyInt(),
+                anyInt(), anyInt(), isNull(),
                 any(HttpServletRequest.class)
-        )).thenReturn(List.of(eventShortDto));
+        )).thenReturn(new CursorPage<>(List.of(eventShortDto), null));
 
         mvc.perform(get("/events")
                         .param("text", "текст для поиска")
@@ -124,6 +126,19 @@ class EventPublicControllerTest {
                 .andExpect(jsonPath("$[0].views").value(eventShortDto.getViews()));
     }
 
+    @Test
+    void mustReturnEventSuggestions() throws Exception {
+        when(eventService.suggestEvents("кон", 5))
+                .thenReturn(List.of(new EventSuggestionDto(1L, "Концерт")));
+
+        mvc.perform(get("/events/suggest")
+                        .param("q", "кон")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].title").value("Концерт"));
+    }
+
     @Test
     void mustReturnPublicEventById() throws Exception {
         when(eventService.getEventById(eq(1L), any(HttpServletRequest.class)))
@@ -7,9 +7,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.MainServiceApp;
+import ru.practicum.StatsClient;
 import ru.practicum.category.model.Category;
 import ru.practicum.event.dto.*;
 import ru.practicum.event.model.Event;
@@ -17,10 +20,13 @@ import ru.practicum.event.service.EventService;
 import ru.practicum.event.state.EventState;
 import ru.practicum.event.state.EventStateActionSolution;
 import ru.practicum.exception.ConflictException;
+import ru.practicum.exception.NotFoundException;
 import ru.practicum.exception.ValidationException;
 import ru.practicum.location.dto.LocationDto;
 import ru.practicum.location.model.Location;
+import ru.practicum.request.dto.ParticipationRequestDto;
 import ru.practicum.request.model.Request;
+import ru.practicum.request.service.RequestService;
 import ru.practicum.request.status.RequestStatus;
 import ru.practicum.user.model.User;
 
@@ -28,6 +34,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 
 @Transactional
@@ -40,6 +49,11 @@ public class EventServiceImplTest {
 
     private final EntityManager em;
     private final EventService eventService;
+    private final RequestService requestService;
+
+    @MockBean
+    private StatsClient statsClient;
+
     private Long userId;
     private Long categoryId;
     private Long locationId;
@@ -180,7 +194,7 @@ public class EventServiceImplTest {
         em.persist(event);
         em.flush();
 
-        List<EventShortDto> events = eventService.getEventsByUserId(userId, 0, 10);
+        List<EventShortDto> events = eventService.getEventsByUserId(userId, 0, 10, null).content();
 
         assertThat(events).isNotEmpty();
         assertThat(events.get(0).getId()).isEqualTo(event.getId());
@@ -212,8 +226,9 @@ public class EventServiceImplTest {
                 null,
                 null,
                 0,
-                10
-        );
+                10,
+                null
+        ).content();
 
         assertThat(events).hasSize(1);
         EventFullDto dto = events.get(0);
@@ -222,6 +237,59 @@ public class EventServiceImplTest {
         assertThat(dto.getCategory().getId()).isEqualTo(categoryId);
     }
 
+    @Test
+    void mustReturnAdminEventsWithConfirmedRequests() {
+        Event event = new Event();
+        event.setAnnotation("Аннотация");
+        event.setCategory(em.find(Category.class, categoryId));
+        event.setCreatedOn(LocalDateTime.now());
+        event.setDescription("Описание");
+        event.setEventDate(LocalDateTime.now().plusDays(1));
+        event.setInitiator(em.find(User.class, userId));
+        event.setLocation(em.find(Location.class, locationId));
+        event.setPaid(true);
+        event.setParticipantLimit(10);
+        event.setRequestModeration(true);
+        event.setState(EventState.PUBLISHED);
+        event.setTitle("Заголовок");
+        em.persist(event);
+
+        User requester1 = new User();
+        requester1.setName("Макс Иванов");
+        requester1.setEmail("Max@mail.ru");
+        em.persist(requester1);
+
+        User requester2 = new User();
+        requester2.setName("Ирина Дубинина");
+        requester2.setEmail("Iren@mail.ru");
+        em.persist(requester2);
+        em.flush();
+
+        ParticipationRequestDto confirmed = requestService.createRequest(requester1.getId(), event.getId());
+        requestService.createRequest(requester2.getId(), event.getId());
+
+        EventRequestStatusUpdateRequest statusRequest = new EventRequestStatusUpdateRequest();
+        statusRequest.setRequestIds(List.of(confirmed.getId()));
+        statusRequest.setStatus(RequestStatus.CONFIRMED);
+        eventService.changeStatus(userId, event.getId(), statusRequest);
+        // Счётчик меняется UPDATE-запросом в обход контекста: читаем событие заново, как следующий запрос
+        em.clear();
+
+        List<EventFullDto> events = eventService.getAdminEvents(
+                List.of(userId),
+                List.of("PUBLISHED"),
+                null,
+                null,
+                null,
+                0,
+                10,
+                null
+        ).content();
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getConfirmedRequests()).isEqualTo(1L);
+    }
+
     @Test
     void mustUpdateEventByAdmin() {
         Event event = new Event();
@@ -328,5 +396,32 @@ public class EventServiceImplTest {
 
         assertThat(result.getConfirmedRequests()).hasSize(1);
         assertThat(result.getRejectedRequests()).hasSize(1);
+
+        em.refresh(event);
+        em.refresh(request1);
+        em.refresh(request2);
+        assertThat(event.getConfirmedRequests()).isEqualTo(1L);
+        assertThat(request1.getStatus()).isEqualTo(RequestStatus.CONFIRMED);
+        assertThat(request2.getStatus()).isEqualTo(RequestStatus.REJECTED);
+    }
+
+    @Test
+    void mustNotRecordHitForUnpublishedEvent() {
+        Event event = new Event();
+        event.setTitle("Событие");
+        event.setAnnotation("Аннотация");
+        event.setDescription("Описание");
+        event.setCreatedOn(LocalDateTime.now());
+        event.setEventDate(LocalDateTime.now().plusDays(1));
+        event.setState(EventState.PENDING);
+        event.setCategory(em.find(Category.class, categoryId));
+        event.setInitiator(em.find(User.class, userId));
+        em.persist(event);
+        em.flush();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/events/" + event.getId());
+
+        Assertions.assertThrows(NotFoundException.class, () -> eventService.getEventById(event.getId(), request));
+        verify(statsClient, never()).createHitAsync(any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package ru.practicum.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.event.dto.EventSuggestionDto;
+import ru.practicum.event.repository.EventRepository;
+import ru.practicum.event.search.EventTitleIndex;
+import ru.practicum.event.state.EventState;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class EventTitleIndexTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private EventTitleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventTitleIndex(eventRepository, 2, 100);
+        index.onEventChanged(1L, "Джазовый концерт", EventState.PUBLISHED);
+        index.onEventChanged(2L, "Концерт в парке", EventState.PUBLISHED);
+    }
+
+    @Test
+    void mustSuggestTitlesStartingWithQueryFirst() {
+        assertThat(index.suggest("конц", 10))
+                .extracting(EventSuggestionDto::getId)
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    void mustSuggestByShortWordPrefix() {
+        assertThat(index.suggest("Дж", 10))
+                .extracting(EventSuggestionDto::getId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void mustRemoveUnpublishedAndEvictOldest() {
+        index.onEventChanged(2L, "Концерт в парке", EventState.CANCELED);
+        assertThat(index.suggest("парк", 10)).isEmpty();
+
+        index.onEventChanged(3L, "Концерт на крыше", EventState.PUBLISHED);
+        index.onEventChanged(4L, "Концерт у моря", EventState.PUBLISHED);
+        assertThat(index.suggest("концерт", 10))
+                .extracting(EventSuggestionDto::getId)
+                .containsExactly(4L, 3L);
+    }
+
+    @Test
+    void mustStopShortQueryOnceLimitOfLeadingMatchesFound() {
+        EventTitleIndex titles = new EventTitleIndex(eventRepository, 10, 100);
+        titles.onEventChanged(1L, "Концерт", EventState.PUBLISHED);
+        titles.onEventChanged(2L, "Кино", EventState.PUBLISHED);
+        titles.onEventChanged(3L, "Большой концерт", EventState.PUBLISHED);
+
+        assertThat(titles.suggest("к", 2))
+                .extracting(EventSuggestionDto::getId)
+                .containsExactlyInAnyOrder(1L, 2L);
+    }
+}
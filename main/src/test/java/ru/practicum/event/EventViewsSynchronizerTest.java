@@ -0,0 +1,87 @@
+package ru.practicum.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.StatsClient;
+import ru.practicum.StatsResponseDto;
+import ru.practicum.event.model.EventViews;
+import ru.practicum.event.repository.EventViewsRepository;
+import ru.practicum.event.search.PublishedEventIndex;
+import ru.practicum.event.service.EventSearchProjection;
+import ru.practicum.event.service.EventViewsSynchronizer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventViewsSynchronizerTest {
+
+    @Mock
+    private EventViewsRepository eventViewsRepository;
+
+    @Mock
+    private StatsClient statsClient;
+
+    @Mock
+    private EventSearchProjection eventSearchProjection;
+
+    @Mock
+    private PublishedEventIndex publishedEventIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EventViewsSynchronizer synchronizer;
+
+    @BeforeEach
+    void setUp() {
+        synchronizer = new EventViewsSynchronizer(eventViewsRepository, statsClient, eventSearchProjection,
+                publishedEventIndex, transactionManager, 100);
+    }
+
+    @Test
+    void mustSetZeroViewsAndForgetEventWhenStatsHaveNoRow() {
+        EventViews row = new EventViews(1L, 5L, null);
+        when(eventViewsRepository.findFirstPublishedOn(List.of(1L))).thenReturn(LocalDateTime.now().minusDays(1));
+        when(statsClient.fetchStats(any())).thenReturn(List.of());
+        when(eventViewsRepository.findAllById(any())).thenReturn(List.of(row));
+
+        synchronizer.markViewed(1L);
+        synchronizer.syncViewed();
+        assertThat(row.getViews()).isZero();
+
+        synchronizer.syncViewed();
+        verify(statsClient, times(1)).fetchStats(any());
+    }
+
+    @Test
+    void mustRetryViewedEventsWhenStatsFail() {
+        EventViews row = new EventViews(1L, 0L, null);
+        when(eventViewsRepository.findFirstPublishedOn(List.of(1L))).thenReturn(LocalDateTime.now().minusDays(1));
+        when(statsClient.fetchStats(any()))
+                .thenThrow(new ResourceAccessException("Connection refused"))
+                .thenReturn(List.of(new StatsResponseDto("ewm-main-service", "/events/1", 3L)));
+        when(eventViewsRepository.findAllById(any())).thenReturn(List.of(row));
+
+        synchronizer.markViewed(1L);
+        synchronizer.syncViewed();
+        assertThat(row.getViews()).isZero();
+
+        synchronizer.syncViewed();
+        assertThat(row.getViews()).isEqualTo(3L);
+
+        synchronizer.syncViewed();
+        verify(statsClient, times(2)).fetchStats(any());
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.repository.EventRepository;
+import ru.practicum.event.search.PublishedEventIndex;
+import ru.practicum.event.state.EventState;
+import ru.practicum.event.view.EventSearchView;
+import ru.practicum.event.view.EventShortView;
+import ru.practicum.pagination.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PublishedEventIndexTest {
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private PublishedEventIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(eventRepository.findSearchViews(eq(EventState.PUBLISHED), anyLong(), any()))
+                .thenReturn(List.of(
+                        row(1L, 10L, true, NOW.plusDays(3), 0, 5L),
+                        row(2L, 10L, false, NOW.plusDays(1), 2, 50L),
+                        row(3L, 20L, false, NOW.plusDays(2), 0, 50L),
+                        row(4L, 10L, false, NOW.minusDays(1), 0, 100L)
+                ), List.of());
+
+        index = new PublishedEventIndex(eventRepository, true, 100);
+        index.init();
+    }
+
+    @Test
+    void mustFilterByCategoryAndPaidInEventDateOrder() {
+        assertThat(index.findByEventDate(filter(List.of(10L), null, false), null, 0, 10))
+                .extracting(EventShortView::id)
+                .containsExactly(2L, 1L);
+
+        assertThat(index.findByEventDate(filter(null, false, false), null, 0, 10))
+                .extracting(EventShortView::id)
+                .containsExactly(2L, 3L);
+    }
+
+    @Test
+    void mustContinueAfterCursor() {
+        PageCursor cursor = PageCursor.decodeKey(PageCursor.ofKey(NOW.plusDays(1), 2L));
+
+        assertThat(index.findByEventDate(filter(null, null, false), cursor, 0, 10))
+                .extracting(EventShortView::id)
+                .containsExactly(3L, 1L);
+    }
+
+    @Test
+    void mustSortByViewsThenId() {
+        assertThat(index.findByViews(filter(null, null, false), 0, 10))
+                .extracting(EventShortView::id)
+                .containsExactly(2L, 3L, 1L);
+
+        index.onViewsChanged(Map.of(1L, 70L));
+        assertThat(index.findByViews(filter(null, null, false), 1, 1))
+                .extracting(EventShortView::id)
+                .containsExactly(2L);
+    }
+
+    @Test
+    void mustExcludeFullEventsWhenOnlyAvailable() {
+        index.onConfirmedRequestsAdded(2L, 2);
+
+        assertThat(index.findByEventDate(filter(null, null, true), null, 0, 10))
+                .extracting(EventShortView::id)
+                .containsExactly(3L, 1L);
+        assertThat(index.findByEventDate(filter(null, null, false), null, 0, 1).get(0).confirmedRequests())
+                .isEqualTo(2L);
+    }
+
+    @Test
+    void mustRemoveUnpublishedEvent() {
+        Event event = new Event();
+        event.setId(3L);
+        event.setState(EventState.CANCELED);
+        index.onEventChanged(event);
+
+        assertThat(index.findByEventDate(filter(null, null, false), null, 0, 10))
+                .extracting(EventShortView::id)
+                .containsExactly(2L, 1L);
+    }
+
+    private static PublishedEventIndex.Filter filter(List<Long> categories, Boolean paid, boolean onlyAvailable) {
+        return new PublishedEventIndex.Filter(categories, paid, null, null, onlyAvailable);
+    }
+
+    private static EventSearchView row(Long id, Long categoryId, boolean paid, LocalDateTime eventDate,
+                                       int participantLimit, Long views) {
+        return new EventSearchView(id, "Аннотация", categoryId, "Категория", 0L, eventDate,
+                1L, "Инициатор", paid, "Событие " + id, participantLimit, views);
+    }
+}
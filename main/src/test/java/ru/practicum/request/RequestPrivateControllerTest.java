@@ -11,6 +11,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.error.ErrorHandler;
+import ru.practicum.pagination.CursorPage;
 import ru.practicum.request.controller.RequestPrivateController;
 import ru.practicum.request.dto.ParticipationRequestDto;
 import ru.practicum.request.service.RequestService;
@@ -21,6 +22,8 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -58,8 +61,8 @@ public class RequestPrivateControllerTest {
 
     @Test
     void mustGetRequestsByUserId() throws Exception {
-        when(requestService.getRequestsByUserId(anyLong()))
-                .thenReturn(List.of(requestDto));
+        when(requestService.getRequestsByUserId(anyLong(), isNull(), eq(1000), isNull()))
+                .thenReturn(new CursorPage<>(List.of(requestDto), null));
 
         mvc.perform(get("/users/5/requests")
                         .accept(MediaType.APPLICATION_JSON))
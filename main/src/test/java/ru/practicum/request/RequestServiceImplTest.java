@@ -15,6 +15,7 @@ import ru.practicum.event.state.EventState;
 import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.location.model.Location;
+import ru.practicum.pagination.CursorPage;
 import ru.practicum.request.dto.ParticipationRequestDto;
 import ru.practicum.request.service.RequestService;
 import ru.practicum.request.status.RequestStatus;
@@ -87,6 +88,38 @@ public class RequestServiceImplTest {
         assertThat(requestDto.getStatus()).isEqualTo(RequestStatus.PENDING);
     }
 
+    @Test
+    void mustCountConfirmedRequestWithoutModeration() {
+        event.setRequestModeration(false);
+        em.flush();
+
+        ParticipationRequestDto requestDto = requestService.createRequest(user.getId(), event.getId());
+        em.refresh(event);
+
+        assertThat(requestDto.getStatus()).isEqualTo(RequestStatus.CONFIRMED);
+        assertThat(event.getConfirmedRequests()).isEqualTo(1L);
+
+        User another = new User();
+        another.setName("Пётр Смирнов");
+        another.setEmail("Petr@mail.com");
+        em.persist(another);
+
+        assertThrows(ConflictException.class,
+                () -> requestService.createRequest(another.getId(), event.getId()));
+    }
+
+    @Test
+    void mustDecrementConfirmedRequestsOnCancel() {
+        event.setRequestModeration(false);
+        em.flush();
+
+        ParticipationRequestDto requestDto = requestService.createRequest(user.getId(), event.getId());
+        requestService.cancelRequest(user.getId(), requestDto.getId());
+        em.refresh(event);
+
+        assertThat(event.getConfirmedRequests()).isEqualTo(0L);
+    }
+
     @Test
     void shouldThrowConflictWhenUserIsInitiator() {
         assertThrows(ConflictException.class,
@@ -106,20 +139,74 @@ public class RequestServiceImplTest {
     void shouldThrowConflictWhenDuplicateRequest() {
         requestService.createRequest(user.getId(), event.getId());
 
-        assertThrows(ConflictException.class,
+        ConflictException e = assertThrows(ConflictException.class,
+                () -> requestService.createRequest(user.getId(), event.getId()));
+        assertThat(e.getMessage()).isEqualTo("Нельзя добавить повторный запрос на участие в событии");
+    }
+
+    @Test
+    void shouldThrowConflictWhenPlaceTakenConcurrently() {
+        event.setRequestModeration(false);
+        em.flush();
+        // Место занято в обход загруженной сущности: проверка в памяти проходит, условное обновление - нет
+        em.createQuery("UPDATE Event AS e SET e.confirmedRequests = 1 WHERE e.id = :id")
+                .setParameter("id", event.getId())
+                .executeUpdate();
+
+        ConflictException e = assertThrows(ConflictException.class,
                 () -> requestService.createRequest(user.getId(), event.getId()));
+        assertThat(e.getMessage()).isEqualTo("Достигнут лимит запросов на участие в событии");
+        assertThat(event.getConfirmedRequests()).isNull();
     }
 
     @Test
     void mustReturnRequestsByUserId() {
         ParticipationRequestDto requestDto = requestService.createRequest(user.getId(), event.getId());
 
-        List<ParticipationRequestDto> requests = requestService.getRequestsByUserId(user.getId());
+        List<ParticipationRequestDto> requests = requestService.getRequestsByUserId(user.getId(), null, 10, null)
+                .content();
 
         assertThat(requests).hasSize(1);
         assertThat(requests.get(0).getId()).isEqualTo(requestDto.getId());
     }
 
+    @Test
+    void mustReturnRequestsByUserIdPageFilteredByStatus() {
+        Event second = new Event();
+        second.setTitle("Выставка");
+        second.setAnnotation("Аннотация");
+        second.setDescription("Описание");
+        second.setCategory(category);
+        second.setLocation(location);
+        second.setInitiator(initiator);
+        second.setCreatedOn(LocalDateTime.now());
+        second.setEventDate(LocalDateTime.now().plusDays(2));
+        second.setState(EventState.PUBLISHED);
+        second.setParticipantLimit(0);
+        em.persist(second);
+        em.flush();
+
+        ParticipationRequestDto pending = requestService.createRequest(user.getId(), event.getId());
+        ParticipationRequestDto confirmed = requestService.createRequest(user.getId(), second.getId());
+
+        CursorPage<ParticipationRequestDto> firstPage = requestService.getRequestsByUserId(user.getId(), null, 1, null);
+        CursorPage<ParticipationRequestDto> secondPage = requestService.getRequestsByUserId(user.getId(), null, 1,
+                firstPage.next());
+        CursorPage<ParticipationRequestDto> onlyConfirmed = requestService.getRequestsByUserId(user.getId(),
+                List.of(RequestStatus.CONFIRMED), 10, null);
+
+        assertThat(firstPage.content()).extracting(ParticipationRequestDto::getId).containsExactly(pending.getId());
+        assertThat(firstPage.next()).isNotNull();
+        assertThat(secondPage.content()).extracting(ParticipationRequestDto::getId).containsExactly(confirmed.getId());
+        assertThat(secondPage.next()).isNull();
+        assertThat(onlyConfirmed.content()).extracting(ParticipationRequestDto::getId).containsExactly(confirmed.getId());
+        assertThat(requestService.getRequestStatusSummary(user.getId()))
+                .containsEntry(RequestStatus.PENDING, 1L)
+                .containsEntry(RequestStatus.CONFIRMED, 1L)
+                .containsEntry(RequestStatus.REJECTED, 0L)
+                .containsEntry(RequestStatus.CANCELED, 0L);
+    }
+
     @Test
     void mustCancelRequest() {
         ParticipationRequestDto requestDto = requestService.createRequest(user.getId(), event.getId());
@@ -0,0 +1,140 @@
+package ru.practicum.request;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.MainServiceApp;
+import ru.practicum.category.model.Category;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.state.EventState;
+import ru.practicum.location.model.Location;
+import ru.practicum.request.dto.ParticipationRequestDto;
+import ru.practicum.request.model.Request;
+import ru.practicum.request.repository.RequestRepository;
+import ru.practicum.request.status.RequestStatus;
+import ru.practicum.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@ActiveProfiles("test")
+@SpringBootTest(classes = MainServiceApp.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class RequestStatusRepositoryTest {
+    private final EntityManager em;
+    private final RequestRepository requestRepository;
+
+    private Event event;
+    private Request first;
+    private Request second;
+    private Request third;
+    private Request foreign;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setName("Концерт");
+        em.persist(category);
+
+        Location location = new Location();
+        location.setLat(50.01f);
+        location.setLon(31.25f);
+        em.persist(location);
+
+        User initiator = new User();
+        initiator.setName("Ирина Дубова");
+        initiator.setEmail("Iren@mail.com");
+        em.persist(initiator);
+
+        event = event("Концерт в парке", category, location, initiator);
+        Event other = event("Выставка", category, location, initiator);
+
+        first = request(event, user("Макс Иванов", "Max@mail.com"));
+        second = request(event, user("Пётр Смирнов", "Petr@mail.com"));
+        third = request(event, user("Анна Орлова", "Anna@mail.com"));
+        foreign = request(other, user("Олег Белов", "Oleg@mail.com"));
+
+        em.flush();
+    }
+
+    @Test
+    void mustConfirmUpToLimitAndRejectRemainingPending() {
+        List<ParticipationRequestDto> confirmed = requestRepository.updatePendingStatus(event.getId(),
+                List.of(first.getId(), second.getId()), RequestStatus.CONFIRMED, 1L);
+        List<ParticipationRequestDto> rejected = requestRepository.updatePendingStatus(event.getId(),
+                null, RequestStatus.REJECTED, null);
+
+        assertThat(confirmed).extracting(ParticipationRequestDto::getId).containsExactly(first.getId());
+        assertThat(confirmed).extracting(ParticipationRequestDto::getStatus).containsOnly(RequestStatus.CONFIRMED);
+        assertThat(rejected).extracting(ParticipationRequestDto::getId).containsExactly(second.getId(), third.getId());
+        assertThat(rejected).extracting(ParticipationRequestDto::getStatus).containsOnly(RequestStatus.REJECTED);
+        assertThat(statusOf(foreign)).isEqualTo(RequestStatus.PENDING);
+    }
+
+    @Test
+    void mustIgnoreRequestsOfAnotherEvent() {
+        List<ParticipationRequestDto> confirmed = requestRepository.updatePendingStatus(event.getId(),
+                List.of(first.getId(), foreign.getId()), RequestStatus.CONFIRMED, null);
+
+        assertThat(confirmed).extracting(ParticipationRequestDto::getId).containsExactly(first.getId());
+        assertThat(statusOf(foreign)).isEqualTo(RequestStatus.PENDING);
+    }
+
+    @Test
+    void mustNotChangeRequestsThatAreNoLongerPending() {
+        requestRepository.updatePendingStatus(event.getId(), List.of(first.getId()), RequestStatus.CONFIRMED, null);
+
+        List<ParticipationRequestDto> rejected = requestRepository.updatePendingStatus(event.getId(),
+                List.of(first.getId()), RequestStatus.REJECTED, null);
+
+        assertThat(rejected).isEmpty();
+        assertThat(statusOf(first)).isEqualTo(RequestStatus.CONFIRMED);
+    }
+
+    private RequestStatus statusOf(Request request) {
+        em.refresh(request);
+        return request.getStatus();
+    }
+
+    private Event event(String title, Category category, Location location, User initiator) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setAnnotation("Аннотация");
+        event.setDescription("Описание");
+        event.setCategory(category);
+        event.setLocation(location);
+        event.setInitiator(initiator);
+        event.setCreatedOn(LocalDateTime.now());
+        event.setEventDate(LocalDateTime.now().plusDays(1));
+        event.setState(EventState.PUBLISHED);
+        event.setParticipantLimit(2);
+        em.persist(event);
+        return event;
+    }
+
+    private User user(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        em.persist(user);
+        return user;
+    }
+
+    private Request request(Event event, User requester) {
+        Request request = new Request();
+        request.setEvent(event);
+        request.setRequester(requester);
+        request.setCreated(LocalDateTime.now());
+        request.setStatus(RequestStatus.PENDING);
+        em.persist(request);
+        return request;
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.error.ErrorHandler;
+import ru.practicum.pagination.CursorPage;
 import ru.practicum.user.controller.UserAdminController;
 import ru.practicum.user.dto.NewUserRequest;
 import ru.practicum.user.dto.UserDto;
@@ -57,8 +58,8 @@ class UserAdminControllerTest {
 
     @Test
     void mustGetUsers() throws Exception {
-        when(userService.getUsers(null, 0, 10))
-                .thenReturn(List.of(userDto));
+        when(userService.getUsers(null, 0, 10, null))
+                .thenReturn(new CursorPage<>(List.of(userDto), null));
 
         mvc.perform(get("/admin/users")
                         .param("from", "0")
@@ -10,6 +10,8 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.MainServiceApp;
 import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.NotFoundException;
+import ru.practicum.exception.ValidationException;
+import ru.practicum.pagination.CursorPage;
 import ru.practicum.user.dto.NewUserRequest;
 import ru.practicum.user.dto.UserDto;
 import ru.practicum.user.model.User;
@@ -17,7 +19,7 @@ import ru.practicum.user.service.UserService;
 
 import java.util.List;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
@@ -67,7 +69,7 @@ class UserServiceImplTest {
 
     @Test
     void mustReturnUsers() {
-        List<UserDto> users = userService.getUsers(null, 0, 10);
+        List<UserDto> users = userService.getUsers(null, 0, 10, null).content();
 
         assertThat(users.get(0).getId()).isEqualTo(userId);
         assertThat(users.get(0).getEmail()).isEqualTo("Max@mail.com");
@@ -93,7 +95,29 @@ class UserServiceImplTest {
         em.persist(u2);
         em.flush();
 
-        List<UserDto> users = userService.getUsers(null, 0, 1);
+        List<UserDto> users = userService.getUsers(null, 0, 1, null).content();
         assertThat(users.get(0).getEmail()).isEqualTo("Max@mail.com");
     }
+
+    @Test
+    void mustReturnNextPageByCursor() {
+        User u2 = new User();
+        u2.setEmail("second@mail.com");
+        u2.setName("Евгений");
+        em.persist(u2);
+        em.flush();
+
+        CursorPage<UserDto> first = userService.getUsers(null, 0, 1, null);
+        assertThat(first.content()).extracting(UserDto::getId).containsExactly(userId);
+        assertThat(first.next()).isNotNull();
+
+        CursorPage<UserDto> second = userService.getUsers(null, 0, 1, first.next());
+        assertThat(second.content()).extracting(UserDto::getId).containsExactly(u2.getId());
+        assertThat(second.next()).isNull();
+    }
+
+    @Test
+    void mustRejectMalformedCursor() {
+        assertThrows(ValidationException.class, () -> userService.getUsers(null, 0, 1, "не курсор"));
+    }
 }
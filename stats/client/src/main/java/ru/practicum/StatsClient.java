@@ -1,5 +1,6 @@
 package ru.practicum;
 
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -11,17 +12,34 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Клиент сервиса статистики. Методы с суффиксом Async выполняют запрос в отдельном виртуальном потоке,
+ * чтобы вызывающий мог совместить его с другой работой, остальные - в вызывающем потоке.
+ * <p>
+ * Сервис статистики отклоняет окна, начинающиеся раньше горизонта хранения stats.partitioning.retention-days,
+ * поэтому getStats сдвигает начало окна к горизонту client.retention-days. Сдвиг берётся с запасом в сутки,
+ * чтобы расхождение часов около полуночи не приводило к отказу.
+ */
 @Service
 public class StatsClient extends BaseClient {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
     private String uri;
+    private final int retentionDays;
 
     @Autowired
-    public StatsClient(@Value("${client.url}") String serviceUrl, RestTemplateBuilder builder) {
+    public StatsClient(@Value("${client.url}") String serviceUrl,
+                       @Value("${client.retention-days:365}") int retentionDays,
+                       RestTemplateBuilder builder) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serviceUrl))
@@ -29,36 +47,68 @@ public class StatsClient extends BaseClient {
                         .build()
         );
         uri = serviceUrl;
+        this.retentionDays = retentionDays;
     }
 
     public ResponseEntity<Object> createHit(StatsRequestDto statsRequestDto) {
         return post("/hit", statsRequestDto);
     }
 
-    public List<StatsResponseDto> getStats(StatsViewRequestDto statsViewRequestDto) {
-        String urisCsv = String.join(",", statsViewRequestDto.getUris());
+    public ResponseEntity<Object> createHits(List<StatsRequestDto> statsRequestDtos) {
+        return post("/hit/batch", statsRequestDtos);
+    }
 
-        final String url = uri + "/stats?start={start}&end={end}&uris={uris}&unique={unique}";
+    public CompletableFuture<ResponseEntity<Object>> createHitAsync(StatsRequestDto statsRequestDto) {
+        return CompletableFuture.supplyAsync(() -> createHit(statsRequestDto), executor);
+    }
 
+    /**
+     * Статистика за окно или пустой список, если сервис статистики не ответил.
+     */
+    public List<StatsResponseDto> getStats(StatsViewRequestDto statsViewRequestDto) {
         try {
-            ResponseEntity<List<StatsResponseDto>> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    HttpEntity.EMPTY,
-                    new ParameterizedTypeReference<List<StatsResponseDto>>() {
-                    },
-                    Map.of(
-                            "start", statsViewRequestDto.getStart().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
-                            "end", statsViewRequestDto.getEnd().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
-                            "uris", urisCsv,
-                            "unique", statsViewRequestDto.getUnique()
-                    )
-            );
-
-            List<StatsResponseDto> stats = response.getBody();
-            return stats != null ? stats : Collections.emptyList();
+            return fetchStats(statsViewRequestDto);
         } catch (Exception e) {
             return Collections.emptyList();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * То же, что getStats, но ошибка запроса пробрасывается: нужно, когда пустой ответ и отказ сервиса
+     * обрабатываются по-разному.
+     */
+    public List<StatsResponseDto> fetchStats(StatsViewRequestDto statsViewRequestDto) {
+        String urisCsv = String.join(",", statsViewRequestDto.getUris());
+
+        final String url = uri + "/stats?start={start}&end={end}&uris={uris}&unique={unique}";
+        LocalDateTime start = statsViewRequestDto.getStart();
+        if (retentionDays > 0) {
+            LocalDateTime horizon = LocalDate.now().minusDays(retentionDays - 1).atStartOfDay();
+            if (start.isBefore(horizon)) {
+                start = horizon;
+            }
+        }
+
+        ResponseEntity<List<StatsResponseDto>> response = restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                HttpEntity.EMPTY,
+                new ParameterizedTypeReference<List<StatsResponseDto>>() {
+                },
+                Map.of(
+                        "start", start.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
+                        "end", statsViewRequestDto.getEnd().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
+                        "uris", urisCsv,
+                        "unique", statsViewRequestDto.getUnique()
+                )
+        );
+
+        List<StatsResponseDto> stats = response.getBody();
+        return stats != null ? stats : Collections.emptyList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+}
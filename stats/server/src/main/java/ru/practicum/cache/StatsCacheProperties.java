@@ -0,0 +1,19 @@
+package ru.practicum.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.cache")
+public class StatsCacheProperties {
+    private boolean enabled = false;
+    private DataSize maxMemory = DataSize.ofMegabytes(64);
+    private Duration openTtl = Duration.ofSeconds(5);
+    private Duration closedTtl = Duration.ofMinutes(10);
+    private Duration allowedLateness = Duration.ofMinutes(1);
+}
@@ -0,0 +1,158 @@
+package ru.practicum.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.StatsResponseDto;
+import ru.practicum.model.Stats;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Кэш результатов /stats.
+ * <p>
+ * Водяной знак приёма - момент now - allowed-lateness: хиты с более ранним временем считаются опоздавшими.
+ * Результат для окна, конец которого раньше водяного знака, окончательный и живёт closed-ttl, если раньше
+ * его не вытеснит ограничение по памяти. Результат для ещё открытого окна живёт open-ttl, но не дольше,
+ * чем до момента, когда водяной знак пройдёт конец окна: следующий запрос пересчитает его уже как окончательный.
+ * Опоздавшие хиты сбрасывают закэшированные окна, в которые они попадают.
+ * <p>
+ * Сброс видит только хиты, принятые этим экземпляром сервера статистики. При нескольких экземплярах
+ * опоздавший хит, принятый соседом, не сбросит кэш, и до истечения closed-ttl отдаётся устаревший результат,
+ * поэтому кэш по умолчанию выключен и рассчитан на один экземпляр.
+ */
+@Slf4j
+@Component
+public class StatsQueryCache {
+    private static final int ENTRY_OVERHEAD_BYTES = 200;
+    private static final int ROW_OVERHEAD_BYTES = 100;
+
+    private final StatsCacheProperties properties;
+    private final Cache<StatsQueryKey, List<StatsResponseDto>> cache;
+    private final Counter invalidationCounter;
+    private final AtomicLong lateBatches = new AtomicLong();
+
+    public StatsQueryCache(StatsCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxMemory().toBytes())
+                .weigher(StatsQueryCache::estimateBytes)
+                .expireAfter(new WatermarkExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "stats");
+        Gauge.builder("stats.cache.memory", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .description("Оценка памяти, занятой закэшированными результатами")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.invalidationCounter = Counter.builder("stats.cache.invalidations")
+                .description("Результаты, сброшенные из-за опоздавших хитов")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public List<StatsResponseDto> get(StatsQueryKey key, Supplier<List<StatsResponseDto>> loader) {
+        if (!isEnabled()) {
+            return loader.get();
+        }
+        long generation = lateBatches.get();
+        List<StatsResponseDto> result = cache.get(key, k -> loader.get());
+        // Опоздавший хит мог закоммититься, пока результат считался, и не попасть в него.
+        if (lateBatches.get() != generation && late(key)) {
+            cache.invalidate(key);
+        }
+        return result;
+    }
+
+    /**
+     * Вызывается после коммита хитов: сбрасывает окна, в которые попали опоздавшие хиты.
+     */
+    public void onHitsCommitted(List<Stats> stats) {
+        if (!isEnabled()) {
+            return;
+        }
+        LocalDateTime watermark = watermark();
+        NavigableSet<LocalDateTime> late = stats.stream()
+                .map(Stats::getTimestamp)
+                .filter(timestamp -> timestamp.isBefore(watermark))
+                .collect(Collectors.toCollection(TreeSet::new));
+        if (late.isEmpty()) {
+            return;
+        }
+        lateBatches.incrementAndGet();
+
+        int before = cache.asMap().size();
+        // Окно задето, если ближайший опоздавший хит не раньше его начала укладывается в окно:
+        // один поиск по отсортированным временам на ключ вместо перебора всех опоздавших хитов
+        cache.asMap().keySet().removeIf(key -> {
+            LocalDateTime first = late.ceiling(key.start());
+            return first != null && key.contains(first);
+        });
+        int invalidated = before - cache.asMap().size();
+        if (invalidated > 0) {
+            invalidationCounter.increment(invalidated);
+            log.debug("Опоздавшие хиты ({}) сбросили закэшированных результатов: {}", late.size(), invalidated);
+        }
+    }
+
+    private boolean late(StatsQueryKey key) {
+        return key.start().isBefore(watermark());
+    }
+
+    private LocalDateTime watermark() {
+        return LocalDateTime.now().minus(properties.getAllowedLateness());
+    }
+
+    private static int estimateBytes(StatsQueryKey key, List<StatsResponseDto> value) {
+        long bytes = ENTRY_OVERHEAD_BYTES;
+        for (String uri : key.uris()) {
+            bytes += ROW_OVERHEAD_BYTES + 2L * uri.length();
+        }
+        for (StatsResponseDto dto : value) {
+            bytes += ROW_OVERHEAD_BYTES + 2L * (dto.getApp().length() + dto.getUri().length());
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private class WatermarkExpiry implements Expiry<StatsQueryKey, List<StatsResponseDto>> {
+        @Override
+        public long expireAfterCreate(StatsQueryKey key, List<StatsResponseDto> value, long currentTime) {
+            LocalDateTime watermark = watermark();
+            if (key.end().isBefore(watermark)) {
+                return properties.getClosedTtl().toNanos();
+            }
+            Duration untilClosed = Duration.between(watermark, key.end()).plusNanos(1);
+            Duration ttl = untilClosed.compareTo(properties.getOpenTtl()) < 0 ? untilClosed : properties.getOpenTtl();
+            return ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(StatsQueryKey key, List<StatsResponseDto> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(StatsQueryKey key, List<StatsResponseDto> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
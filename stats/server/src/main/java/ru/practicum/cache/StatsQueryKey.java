@@ -0,0 +1,29 @@
+package ru.practicum.cache;
+
+import ru.practicum.sketch.UniqueMode;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Нормализованный запрос статистики: uri отсортированы без повторов, режим подсчёта уникальных
+ * указан только для уникальных запросов.
+ */
+public record StatsQueryKey(LocalDateTime start, LocalDateTime end, List<String> uris, boolean unique, UniqueMode mode) {
+
+    public static StatsQueryKey of(LocalDateTime start,
+                                   LocalDateTime end,
+                                   List<String> uris,
+                                   boolean unique,
+                                   UniqueMode mode) {
+        List<String> normalized = uris == null ? List.of() : uris.stream()
+                .distinct()
+                .sorted()
+                .toList();
+        return new StatsQueryKey(start, end, normalized, unique, unique ? mode : null);
+    }
+
+    public boolean contains(LocalDateTime timestamp) {
+        return !timestamp.isBefore(start) && !timestamp.isAfter(end);
+    }
+}
@@ -1,16 +1,26 @@
 package ru.practicum.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.StatsRequestDto;
 import ru.practicum.StatsResponseDto;
 import ru.practicum.service.StatsService;
+import ru.practicum.service.StatsStream;
+import ru.practicum.sketch.UniqueMode;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -19,6 +29,7 @@ import java.util.List;
 @RestController
 public class StatsController {
     private final StatsService statsService;
+    private final ObjectMapper objectMapper;
 
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping(value = "/hit")
@@ -27,13 +38,61 @@ public class StatsController {
         return statsService.createHit(statsRequestDto);
     }
 
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping(value = "/hit/batch")
+    public void createHits(@RequestBody List<StatsRequestDto> statsRequestDtos) {
+        log.info("POST /hit/batch, количество хитов: {}", statsRequestDtos.size());
+        statsService.createHits(statsRequestDtos);
+    }
+
     @GetMapping(value = "/stats")
     public List<StatsResponseDto> getStats(
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") @Valid @NonNull LocalDateTime start,
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") @Valid @NonNull LocalDateTime end,
             @RequestParam(required = false) List<String> uris,
-            @RequestParam(defaultValue = "false") Boolean unique) {
+            @RequestParam(defaultValue = "false") Boolean unique,
+            @RequestParam(required = false) UniqueMode uniqueMode) {
         log.info("GET /stats");
-        return statsService.getStats(start, end, uris, unique);
+        return statsService.getStats(start, end, uris, unique, uniqueMode);
+    }
+
+    @GetMapping(value = "/stats/top")
+    public List<StatsResponseDto> getTopUris(@RequestParam(defaultValue = "10") Integer k,
+                                             @RequestParam(defaultValue = "PT1H") Duration window,
+                                             @RequestParam(required = false) String app) {
+        log.info("GET /stats/top, k = {}, window = {}, app = {}", k, window, app);
+        return statsService.getTopUris(k, window, app);
+    }
+
+    /**
+     * Тот же JSON-массив, что и у GET /stats, но элементы пишутся в ответ по мере чтения из БД.
+     */
+    @GetMapping(value = "/stats", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamStats(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") @Valid @NonNull LocalDateTime start,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") @Valid @NonNull LocalDateTime end,
+            @RequestParam(required = false) List<String> uris,
+            @RequestParam(defaultValue = "false") Boolean unique,
+            @RequestParam(required = false) UniqueMode uniqueMode) {
+        log.info("GET /stats?stream=true");
+        StatsStream stats = statsService.streamStats(start, end, uris, unique, uniqueMode);
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                stats.forEach(dto -> {
+                    try {
+                        generator.writeObject(dto);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 }
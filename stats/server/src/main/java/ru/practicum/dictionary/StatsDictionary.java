@@ -0,0 +1,94 @@
+package ru.practicum.dictionary;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Словари названий сервисов и uri. Строки хранятся в таблицах stats_app и stats_uri один раз,
+ * а в хитах и агрегатах - только их целочисленные идентификаторы. Словари только пополняются,
+ * поэтому соответствие кэшируется в памяти без инвалидации.
+ */
+@Component
+public class StatsDictionary {
+    private final Dictionary apps;
+    private final Dictionary uris;
+
+    public StatsDictionary(JdbcTemplate jdbcTemplate) {
+        this.apps = new Dictionary(jdbcTemplate, "stats_app");
+        this.uris = new Dictionary(jdbcTemplate, "stats_uri");
+    }
+
+    public int appId(String app) {
+        return apps.intern(app);
+    }
+
+    public int uriId(String uri) {
+        return uris.intern(uri);
+    }
+
+    public Optional<Integer> findAppId(String app) {
+        return apps.find(app);
+    }
+
+    public Optional<Integer> findUriId(String uri) {
+        return uris.find(uri);
+    }
+
+    public String appName(int id) {
+        return apps.name(id);
+    }
+
+    public String uriName(int id) {
+        return uris.name(id);
+    }
+
+    @RequiredArgsConstructor
+    private static final class Dictionary {
+        private final JdbcTemplate jdbcTemplate;
+        private final String table;
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private final Map<Integer, String> names = new ConcurrentHashMap<>();
+
+        int intern(String name) {
+            Integer id = ids.get(name);
+            if (id != null) {
+                return id;
+            }
+            jdbcTemplate.update("INSERT INTO " + table + " (name) VALUES (?) ON CONFLICT (name) DO NOTHING", name);
+            return find(name).orElseThrow();
+        }
+
+        Optional<Integer> find(String name) {
+            Integer id = ids.get(name);
+            if (id != null) {
+                return Optional.of(id);
+            }
+            List<Integer> found = jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE name = ?", Integer.class, name);
+            if (found.isEmpty()) {
+                return Optional.empty();
+            }
+            remember(name, found.get(0));
+            return Optional.of(found.get(0));
+        }
+
+        String name(int id) {
+            String name = names.get(id);
+            if (name == null) {
+                name = jdbcTemplate.queryForObject("SELECT name FROM " + table + " WHERE id = ?", String.class, id);
+                remember(name, id);
+            }
+            return name;
+        }
+
+        private void remember(String name, int id) {
+            ids.put(name, id);
+            names.put(id, name);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.practicum.exception.IngestionException;
 import ru.practicum.exception.ValidationException;
 
 import java.time.LocalDateTime;
@@ -48,6 +49,19 @@ public class ErrorHandler {
         );
     }
 
+    @ExceptionHandler(IngestionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ApiError handleIngestionException(IngestionException e) {
+        log.error("Ошибка записи хита: ", e);
+        return new ApiError(
+                Collections.emptyList(),
+                e.getMessage(),
+                "Hit was not persisted.",
+                "SERVICE_UNAVAILABLE",
+                LocalDateTime.now()
+        );
+    }
+
     @ExceptionHandler(Throwable.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ApiError handleThrowable(Throwable e) {
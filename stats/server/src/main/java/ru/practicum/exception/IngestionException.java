@@ -0,0 +1,7 @@
+package ru.practicum.exception;
+
+public class IngestionException extends RuntimeException {
+    public IngestionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.hotwindow;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.hot-window")
+public class HotWindowProperties {
+    private boolean enabled = false;
+    private Duration window = Duration.ofHours(24);
+    private long maxCells = 2_000_000;
+    private long maxUniqueIps = 5_000_000;
+    private Duration maintenanceInterval = Duration.ofSeconds(10);
+}
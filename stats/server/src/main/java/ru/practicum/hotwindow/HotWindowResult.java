@@ -0,0 +1,12 @@
+package ru.practicum.hotwindow;
+
+import ru.practicum.model.AppUri;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Счётчики из памяти за полуинтервал [from, to), границы которого выровнены по минутам.
+ */
+public record HotWindowResult(LocalDateTime from, LocalDateTime to, Map<AppUri, Long> hits) {
+}
@@ -0,0 +1,326 @@
+package ru.practicum.hotwindow;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.model.AppUri;
+import ru.practicum.model.Stats;
+import ru.practicum.sketch.HyperLogLog;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчики хитов и множества уникальных ip по (app, uri) за последние window в поминутных слотах.
+ * <p>
+ * Слоты лежат в кольце, слот для новой минуты вытесняет слот, отстающий на длину окна. Счётчики -
+ * {@link LongAdder}, множества ip - конкурентные множества 64-битных хэшей, поэтому запись хитов
+ * не берёт блокировок. Хиты попадают сюда после коммита в БД, так что память и таблица stats согласованы.
+ * <p>
+ * coverageFrom - первая минута, за которую в памяти есть все хиты: минута после старта сервера,
+ * начало кольца или минута после слотов, вытесненных из-за лимитов. Ограничение памяти max-cells
+ * (ячеек слот x (app, uri)) и max-unique-ips обеспечивается в обслуживании: вытесняются самые старые
+ * поминутные слоты целиком, по всем uri сразу, и coverageFrom сдвигается за них. Отдельные редко
+ * запрашиваемые uri не вытесняются, иначе покрытие пришлось бы вести по каждому uri. Между запусками
+ * обслуживания лимиты могут быть кратковременно превышены. Хиты позже текущего момента с учётом
+ * stats.ingestion.max-clock-skew отклоняются при приёме и сюда не попадают. При нескольких экземплярах
+ * сервера статистики память видит только свои хиты, поэтому окно по умолчанию выключено.
+ */
+@Slf4j
+@Component
+public class HotWindowStore {
+    private final HotWindowProperties properties;
+    private final int size;
+    private final AtomicReferenceArray<Slot> ring;
+    private final AtomicLong coverageFrom;
+    private final AtomicLong uniqueFrom;
+
+    public HotWindowStore(HotWindowProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.size = (int) Math.max(1, properties.getWindow().toMinutes());
+        this.ring = new AtomicReferenceArray<>(size);
+        this.coverageFrom = new AtomicLong(minuteOf(LocalDateTime.now()) + 1);
+        this.uniqueFrom = new AtomicLong(coverageFrom.get());
+
+        Gauge.builder("stats.hotwindow.cells", this, HotWindowStore::cellCount)
+                .description("Количество ячеек (минута, app, uri) в памяти")
+                .register(meterRegistry);
+        Gauge.builder("stats.hotwindow.unique.ips", this, HotWindowStore::ipCount)
+                .description("Количество ip во множествах уникальных хитов в памяти")
+                .register(meterRegistry);
+        Gauge.builder("stats.hotwindow.coverage.minutes", this, HotWindowStore::coveredMinutes)
+                .description("Длина интервала, за который статистика отвечает из памяти")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public void record(List<Stats> stats) {
+        if (!isEnabled()) {
+            return;
+        }
+        for (Stats s : stats) {
+            long minute = minuteOf(s.getTimestamp());
+            if (minute < coverageFrom.get()) {
+                continue;
+            }
+            Slot slot = slotFor(minute);
+            if (slot != null) {
+                slot.add(s);
+            }
+        }
+    }
+
+    /**
+     * Отвечает из памяти за наибольшую часть [start, end], которую память покрывает целыми минутами.
+     * Пустой результат означает, что память не покрывает ни одной минуты окна.
+     */
+    public Optional<HotWindowResult> query(LocalDateTime start, LocalDateTime end, List<Integer> uriIds, boolean unique) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        long[] range = range(start, end, unique);
+        if (range == null) {
+            return Optional.empty();
+        }
+
+        Map<AppUri, Long> hits = unique ? countUnique(range, uriIds) : countHits(range, uriIds);
+
+        // Пока шёл подсчёт, слоты могли быть вытеснены или на краях окна могли появиться новые хиты.
+        if (!Arrays.equals(range, range(start, end, unique))) {
+            return Optional.empty();
+        }
+        return Optional.of(new HotWindowResult(timeOf(range[0]), timeOf(range[1] + 1), hits));
+    }
+
+    @Scheduled(fixedDelayString = "${stats.hot-window.maintenance-interval:PT10S}")
+    public void maintain() {
+        if (!isEnabled()) {
+            return;
+        }
+        List<Slot> slots = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Slot slot = ring.get(i);
+            if (slot == null) {
+                continue;
+            }
+            if (slot.minute < coverageFrom.get()) {
+                ring.compareAndSet(i, slot, null);
+            } else {
+                slots.add(slot);
+            }
+        }
+        slots.sort(Comparator.comparingLong(slot -> slot.minute));
+
+        long cells = slots.stream().mapToLong(Slot::cellCount).sum();
+        Iterator<Slot> oldest = slots.iterator();
+        while (cells > properties.getMaxCells() && oldest.hasNext()) {
+            Slot slot = oldest.next();
+            raise(coverageFrom, slot.minute + 1);
+            ring.compareAndSet(index(slot.minute), slot, null);
+            cells -= slot.cellCount();
+            oldest.remove();
+        }
+
+        long ips = slots.stream().mapToLong(slot -> slot.ips.sum()).sum();
+        for (Slot slot : slots) {
+            if (ips <= properties.getMaxUniqueIps()) {
+                break;
+            }
+            raise(uniqueFrom, slot.minute + 1);
+            ips -= slot.ips.sum();
+            slot.dropIps();
+        }
+    }
+
+    private Slot slotFor(long minute) {
+        int index = index(minute);
+        while (true) {
+            Slot current = ring.get(index);
+            if (current != null && current.minute == minute) {
+                return current;
+            }
+            if (current != null && current.minute > minute) {
+                return null;
+            }
+            // Новый слот вытесняет минуту на длину окна назад, поэтому сначала сдвигается граница покрытия.
+            raise(coverageFrom, minute - size + 1);
+            Slot slot = new Slot(minute);
+            if (ring.compareAndSet(index, current, slot)) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Первая и последняя минуты внутри [start, end], которые целиком отвечаются из памяти, или null.
+     */
+    private long[] range(LocalDateTime start, LocalDateTime end, boolean unique) {
+        long lower = unique ? Math.max(coverageFrom.get(), uniqueFrom.get()) : coverageFrom.get();
+
+        long from = minuteOf(start);
+        Slot first = slot(from);
+        if (first != null && first.first.get().isBefore(start)) {
+            from++;
+        }
+        from = Math.max(from, lower);
+
+        long to = minuteOf(end);
+        Slot last = slot(to);
+        if (last != null && last.last.get().isAfter(end)) {
+            to--;
+        }
+        return from <= to ? new long[]{from, to} : null;
+    }
+
+    private Slot slot(long minute) {
+        Slot slot = ring.get(index(minute));
+        return slot != null && slot.minute == minute ? slot : null;
+    }
+
+    private Map<AppUri, Long> countHits(long[] range, List<Integer> uriIds) {
+        Map<AppUri, Long> hits = new HashMap<>();
+        forEachCell(range, uriIds, (key, cell) -> hits.merge(key, cell.hits.sum(), Long::sum));
+        return hits;
+    }
+
+    private Map<AppUri, Long> countUnique(long[] range, List<Integer> uriIds) {
+        Map<AppUri, Set<Long>> ips = new HashMap<>();
+        forEachCell(range, uriIds, (key, cell) -> {
+            Set<Long> cellIps = cell.ips;
+            if (cellIps != null) {
+                ips.computeIfAbsent(key, k -> new HashSet<>()).addAll(cellIps);
+            }
+        });
+
+        Map<AppUri, Long> hits = new HashMap<>();
+        ips.forEach((key, set) -> hits.put(key, (long) set.size()));
+        return hits;
+    }
+
+    private void forEachCell(long[] range, List<Integer> uriIds, CellConsumer consumer) {
+        Set<Integer> filter = uriIds == null ? null : new HashSet<>(uriIds);
+        for (int i = 0; i < size; i++) {
+            Slot slot = ring.get(i);
+            if (slot == null || slot.minute < range[0] || slot.minute > range[1]) {
+                continue;
+            }
+            slot.cells.forEach((key, cell) -> {
+                AppUri appUri = new AppUri((int) (key >>> 32), key.intValue());
+                if (filter == null || filter.contains(appUri.uriId())) {
+                    consumer.accept(appUri, cell);
+                }
+            });
+        }
+    }
+
+    private long cellCount() {
+        long cells = 0;
+        for (int i = 0; i < size; i++) {
+            Slot slot = ring.get(i);
+            if (slot != null) {
+                cells += slot.cellCount();
+            }
+        }
+        return cells;
+    }
+
+    private long ipCount() {
+        long ips = 0;
+        for (int i = 0; i < size; i++) {
+            Slot slot = ring.get(i);
+            if (slot != null) {
+                ips += slot.ips.sum();
+            }
+        }
+        return ips;
+    }
+
+    private long coveredMinutes() {
+        return Math.max(0, minuteOf(LocalDateTime.now()) - coverageFrom.get() + 1);
+    }
+
+    private int index(long minute) {
+        return (int) Math.floorMod(minute, (long) size);
+    }
+
+    private static void raise(AtomicLong bound, long value) {
+        bound.accumulateAndGet(value, Math::max);
+    }
+
+    private static long minuteOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime timeOf(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static long key(Stats stats) {
+        return ((long) stats.getAppId() << 32) | (stats.getUriId() & 0xFFFFFFFFL);
+    }
+
+    @FunctionalInterface
+    private interface CellConsumer {
+        void accept(AppUri key, Cell cell);
+    }
+
+    private static class Slot {
+        private final long minute;
+        private final ConcurrentHashMap<Long, Cell> cells = new ConcurrentHashMap<>();
+        private final AtomicReference<LocalDateTime> first = new AtomicReference<>(LocalDateTime.MAX);
+        private final AtomicReference<LocalDateTime> last = new AtomicReference<>(LocalDateTime.MIN);
+        private final LongAdder ips = new LongAdder();
+        private volatile boolean ipsDropped;
+
+        Slot(long minute) {
+            this.minute = minute;
+        }
+
+        void add(Stats stats) {
+            LocalDateTime timestamp = stats.getTimestamp();
+            if (timestamp.isBefore(first.get())) {
+                first.accumulateAndGet(timestamp, (a, b) -> a.isBefore(b) ? a : b);
+            }
+            if (timestamp.isAfter(last.get())) {
+                last.accumulateAndGet(timestamp, (a, b) -> a.isAfter(b) ? a : b);
+            }
+
+            Cell cell = cells.computeIfAbsent(key(stats), k -> new Cell(!ipsDropped));
+            cell.hits.increment();
+
+            Set<Long> cellIps = cell.ips;
+            if (cellIps != null && stats.getIp() != null && cellIps.add(HyperLogLog.hash(stats.getIp()))) {
+                ips.increment();
+            }
+        }
+
+        long cellCount() {
+            return cells.size();
+        }
+
+        void dropIps() {
+            ipsDropped = true;
+            cells.values().forEach(cell -> cell.ips = null);
+        }
+    }
+
+    private static class Cell {
+        private final LongAdder hits = new LongAdder();
+        private volatile Set<Long> ips;
+
+        Cell(boolean trackIps) {
+            this.ips = trackIps ? ConcurrentHashMap.newKeySet() : null;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package ru.practicum.ingestion;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.exception.IngestionException;
+import ru.practicum.model.Stats;
+import ru.practicum.repository.StatsRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Ограниченная очередь хитов, которую фоновый поток сбрасывает в таблицу stats пакетами:
+ * по достижении batch-size или по истечении flush-interval с момента первого хита в пакете.
+ */
+@Slf4j
+@Component
+public class HitIngestionQueue {
+    private final StatsRepository statsRepository;
+    private final IngestionProperties properties;
+    private final BlockingQueue<PendingHit> queue;
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter overflowCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public HitIngestionQueue(StatsRepository statsRepository,
+                             IngestionProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.statsRepository = statsRepository;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        Gauge.builder("stats.ingestion.queue.depth", queue, BlockingQueue::size)
+                .description("Количество хитов, ожидающих записи")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("stats.ingestion.flush.latency")
+                .description("Время записи одного пакета хитов")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("stats.ingestion.batch.size")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("stats.ingestion.overflow")
+                .description("Хиты, записанные синхронно из-за переполнения очереди")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("stats.ingestion.failed")
+                .description("Хиты, которые не удалось записать")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.getMode() == IngestionMode.ASYNC;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "stats-hit-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Асинхронная запись хитов включена: ack={}, batchSize={}, flushInterval={}",
+                properties.getAck(), properties.getBatchSize(), properties.getFlushInterval());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(properties.getFlushInterval().toMillis() * 2 + 1000);
+
+        List<PendingHit> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        while (!rest.isEmpty()) {
+            int end = Math.min(rest.size(), properties.getBatchSize());
+            flush(rest.subList(0, end));
+            rest.subList(0, end).clear();
+        }
+    }
+
+    public void submit(Stats stats) {
+        submitAll(List.of(stats));
+    }
+
+    /**
+     * Ставит хиты в очередь. Если очередь переполнена, ожидание offer-timeout тратится один раз:
+     * не поместившийся хит и все следующие за ним записываются синхронно одним пакетом.
+     */
+    public void submitAll(List<Stats> stats) {
+        List<CompletableFuture<Void>> pending = new ArrayList<>(stats.size());
+        for (Stats s : stats) {
+            PendingHit hit = new PendingHit(s, new CompletableFuture<>());
+            if (!offer(hit)) {
+                break;
+            }
+            pending.add(hit.flushed());
+        }
+
+        if (pending.size() < stats.size()) {
+            List<Stats> overflow = stats.subList(pending.size(), stats.size());
+            overflowCounter.increment(overflow.size());
+            log.warn("Очередь хитов переполнена, хитов записывается синхронно: {}", overflow.size());
+            statsRepository.saveBatch(overflow);
+        }
+
+        if (properties.getAck() == AckPolicy.FLUSHED && !pending.isEmpty()) {
+            awaitFlush(CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)));
+        }
+    }
+
+    private boolean offer(PendingHit hit) {
+        try {
+            return queue.offer(hit, properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void awaitFlush(CompletableFuture<Void> flushed) {
+        try {
+            flushed.get(properties.getAckTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IngestionException("Ожидание записи хита прервано", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IngestionException("Хит не был записан", e);
+        }
+    }
+
+    private void runWriter() {
+        List<PendingHit> batch = new ArrayList<>(properties.getBatchSize());
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+
+        while (running) {
+            try {
+                PendingHit first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < properties.getBatchSize()) {
+                    queue.drainTo(batch, properties.getBatchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= properties.getBatchSize() || remaining <= 0) {
+                        break;
+                    }
+                    PendingHit next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Ошибка в потоке записи хитов: ", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingHit> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Stats> stats = batch.stream()
+                .map(PendingHit::stats)
+                .toList();
+
+        try {
+            flushTimer.record(() -> statsRepository.saveBatch(stats));
+            batchSizeSummary.record(stats.size());
+            batch.forEach(hit -> hit.flushed().complete(null));
+        } catch (RuntimeException e) {
+            failedCounter.increment(stats.size());
+            log.error("Не удалось записать пакет из {} хитов: ", stats.size(), e);
+            batch.forEach(hit -> hit.flushed().completeExceptionally(e));
+        }
+    }
+
+    private record PendingHit(Stats stats, CompletableFuture<Void> flushed) {
+    }
+}
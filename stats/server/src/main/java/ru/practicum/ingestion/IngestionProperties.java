@@ -0,0 +1,22 @@
+package ru.practicum.ingestion;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.ingestion")
+public class IngestionProperties {
+    private IngestionMode mode = IngestionMode.SYNC;
+    private AckPolicy ack = AckPolicy.ENQUEUED;
+    private int queueCapacity = 100_000;
+    private int batchSize = 500;
+    private int maxBatchSize = 1000;
+    private Duration flushInterval = Duration.ofMillis(200);
+    private Duration offerTimeout = Duration.ofMillis(50);
+    private Duration ackTimeout = Duration.ofSeconds(5);
+    private Duration maxClockSkew = Duration.ofMinutes(1);
+}
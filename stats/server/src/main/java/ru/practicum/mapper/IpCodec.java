@@ -0,0 +1,90 @@
+package ru.practicum.mapper;
+
+import lombok.experimental.UtilityClass;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Компактное хранение ip: первый байт - тип значения, далее 4 байта IPv4, 16 байт IPv6
+ * или байты строки в UTF-8. В двоичном виде хранятся только канонические записи, которые
+ * decode восстанавливает символ в символ: IPv4 без ведущих нулей и IPv6 в полной форме,
+ * как её печатает InetAddress. Остальные строки (например, ::1 или 010.0.0.1) хранятся как текст,
+ * поэтому хит возвращается и считается уникальным ровно по переданной строке.
+ */
+@UtilityClass
+public class IpCodec {
+    private static final byte TEXT = 0;
+    private static final byte IPV4 = 4;
+    private static final byte IPV6 = 6;
+
+    public static byte[] encode(String ip) {
+        byte[] v4 = parseIpv4(ip);
+        if (v4 != null) {
+            return tagged(IPV4, v4);
+        }
+
+        byte[] v6 = parseIpv6(ip);
+        if (v6 != null) {
+            return tagged(IPV6, v6);
+        }
+
+        return tagged(TEXT, ip.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(byte[] bytes) {
+        byte[] value = Arrays.copyOfRange(bytes, 1, bytes.length);
+        if (bytes[0] == TEXT) {
+            return new String(value, StandardCharsets.UTF_8);
+        }
+        try {
+            return InetAddress.getByAddress(value).getHostAddress();
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Некорректный ip в базе данных", e);
+        }
+    }
+
+    private static byte[] tagged(byte tag, byte[] value) {
+        byte[] result = new byte[value.length + 1];
+        result[0] = tag;
+        System.arraycopy(value, 0, result, 1, value.length);
+        return result;
+    }
+
+    private static byte[] parseIpv4(String ip) {
+        String[] octets = ip.split("\\.", -1);
+        if (octets.length != 4) {
+            return null;
+        }
+        byte[] result = new byte[4];
+        for (int i = 0; i < 4; i++) {
+            String octet = octets[i];
+            if (octet.isEmpty() || octet.length() > 3 || !octet.chars().allMatch(Character::isDigit)
+                    || octet.length() > 1 && octet.charAt(0) == '0') {
+                return null;
+            }
+            int value = Integer.parseInt(octet);
+            if (value > 255) {
+                return null;
+            }
+            result[i] = (byte) value;
+        }
+        return result;
+    }
+
+    private static byte[] parseIpv6(String ip) {
+        // InetAddress не обращается к DNS только для ip-литералов, поэтому остальные строки отсекаются заранее
+        if (ip.indexOf(':') < 0 || !ip.matches("[0-9a-fA-F:.]+")) {
+            return null;
+        }
+        try {
+            InetAddress address = InetAddress.getByName(ip);
+            return address instanceof Inet6Address && address.getHostAddress().equals(ip) ? address.getAddress() : null;
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+}
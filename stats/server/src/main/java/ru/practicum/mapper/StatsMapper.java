@@ -6,21 +6,21 @@ import ru.practicum.model.Stats;
 
 @UtilityClass
 public class StatsMapper {
-    public static StatsRequestDto toStatsDto(Stats stats) {
+    public static StatsRequestDto toStatsDto(Stats stats, String app, String uri) {
         return new StatsRequestDto(
-                stats.getApp(),
-                stats.getUri(),
-                stats.getIp(),
+                app,
+                uri,
+                IpCodec.decode(stats.getIp()),
                 stats.getTimestamp()
         );
     }
 
-    public static Stats toStats(StatsRequestDto statsRequestDto) {
+    public static Stats toStats(StatsRequestDto statsRequestDto, int appId, int uriId) {
         return new Stats(
                 null,
-                statsRequestDto.getApp(),
-                statsRequestDto.getUri(),
-                statsRequestDto.getIp(),
+                appId,
+                uriId,
+                IpCodec.encode(statsRequestDto.getIp()),
                 statsRequestDto.getTimestamp()
         );
     }
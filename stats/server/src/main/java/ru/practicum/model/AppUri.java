@@ -0,0 +1,4 @@
+package ru.practicum.model;
+
+public record AppUri(int appId, int uriId) {
+}
@@ -18,8 +18,10 @@ public class Stats {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
-    private String app;
-    private String uri;
-    private String ip;
+    @Column(name = "app_id")
+    private Integer appId;
+    @Column(name = "uri_id")
+    private Integer uriId;
+    private byte[] ip;
     private LocalDateTime timestamp;
 }
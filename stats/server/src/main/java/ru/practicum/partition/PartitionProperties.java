@@ -0,0 +1,18 @@
+package ru.practicum.partition;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.partitioning")
+public class PartitionProperties {
+    private boolean enabled = true;
+    private int precreateDays = 7;
+    private int retentionDays = 365;
+    private ExpiredPartitionAction expiredAction = ExpiredPartitionAction.DROP;
+    private Duration checkInterval = Duration.ofHours(1);
+}
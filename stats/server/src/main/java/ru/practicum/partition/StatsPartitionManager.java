@@ -0,0 +1,120 @@
+package ru.practicum.partition;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.model.RollupGranularity;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Поддерживает суточные партиции таблицы stats: заранее создаёт партиции на precreate-days вперёд
+ * и отсоединяет или удаляет партиции старше retention-days. Хиты, для которых партиции ещё нет,
+ * попадают в stats_default и переносятся в партицию при её создании. Вместе с партициями удаляются
+ * агрегаты и скетчи stats_minute, stats_hour и stats_day за те же дни, а запросы за окна до горизонта
+ * хранения отклоняются при валидации.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class StatsPartitionManager {
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Pattern PARTITION_NAME = Pattern.compile("stats_p(\\d{8})");
+    private static final long LOCK_KEY = 7_146_511_024L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PartitionProperties properties;
+
+    @PostConstruct
+    public void init() {
+        maintain();
+    }
+
+    @Scheduled(fixedDelayString = "${stats.partitioning.check-interval:PT1H}",
+            initialDelayString = "${stats.partitioning.check-interval:PT1H}")
+    public void maintain() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+
+        for (int i = -1; i <= properties.getPrecreateDays(); i++) {
+            createPartition(today.plusDays(i));
+        }
+
+        if (properties.getRetentionDays() > 0) {
+            expirePartitions(today.minusDays(properties.getRetentionDays()));
+        }
+    }
+
+    private void createPartition(LocalDate day) {
+        String name = "stats_p" + day.format(SUFFIX);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, LOCK_KEY);
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name))) {
+                return;
+            }
+
+            jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE stats INCLUDING DEFAULTS)");
+            // Вставки в stats_default ждут до конца транзакции: иначе хит за этот день, пришедший между
+            // переносом и ATTACH, не даст присоединить партицию.
+            jdbcTemplate.execute("LOCK TABLE stats_default IN EXCLUSIVE MODE");
+            int moved = jdbcTemplate.update("WITH moved AS (" +
+                            "DELETE FROM stats_default WHERE timestamp >= ? AND timestamp < ? RETURNING *) " +
+                            "INSERT INTO " + name + " SELECT * FROM moved",
+                    Timestamp.valueOf(day.atStartOfDay()),
+                    Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+            jdbcTemplate.execute("ALTER TABLE stats ATTACH PARTITION " + name +
+                    " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+
+            log.info("Создана партиция {}, перенесено хитов из stats_default: {}", name, moved);
+        });
+    }
+
+    private void expirePartitions(LocalDate cutoff) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, LOCK_KEY);
+            List<String> partitions = jdbcTemplate.queryForList(
+                    "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                            "WHERE i.inhparent = 'stats'::regclass", String.class);
+
+            for (String name : partitions) {
+                Matcher matcher = PARTITION_NAME.matcher(name);
+                if (!matcher.matches() || !LocalDate.parse(matcher.group(1), SUFFIX).isBefore(cutoff)) {
+                    continue;
+                }
+
+                jdbcTemplate.execute("ALTER TABLE stats DETACH PARTITION " + name);
+                if (properties.getExpiredAction() == ExpiredPartitionAction.DROP) {
+                    jdbcTemplate.execute("DROP TABLE " + name);
+                }
+                log.info("Партиция {} старше {}: {}", name, cutoff, properties.getExpiredAction());
+            }
+
+            int deleted = jdbcTemplate.update("DELETE FROM stats_default WHERE timestamp < ?",
+                    Timestamp.valueOf(cutoff.atStartOfDay()));
+            if (deleted > 0) {
+                log.info("Из stats_default удалено устаревших хитов: {}", deleted);
+            }
+
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                int expired = jdbcTemplate.update("DELETE FROM " + granularity.getTable() + " WHERE bucket < ?",
+                        Timestamp.valueOf(cutoff.atStartOfDay()));
+                if (expired > 0) {
+                    log.info("Из {} удалено устаревших агрегатов: {}", granularity.getTable(), expired);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.repository;
+
+import ru.practicum.model.Stats;
+
+import java.util.List;
+
+public interface StatsBatchRepository {
+    void saveBatch(List<Stats> stats);
+}
@@ -0,0 +1,49 @@
+package ru.practicum.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.cache.StatsQueryCache;
+import ru.practicum.hotwindow.HotWindowStore;
+import ru.practicum.model.Stats;
+import ru.practicum.trending.TopUrisTracker;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class StatsBatchRepositoryImpl implements StatsBatchRepository {
+    private static final String INSERT_SQL = "INSERT INTO stats (app_id, uri_id, ip, timestamp) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StatsRollupRepository statsRollupRepository;
+    private final HotWindowStore hotWindowStore;
+    private final StatsQueryCache statsQueryCache;
+    private final TopUrisTracker topUrisTracker;
+
+    @Transactional
+    @Override
+    public void saveBatch(List<Stats> stats) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, stats, stats.size(), (ps, s) -> {
+            ps.setInt(1, s.getAppId());
+            ps.setInt(2, s.getUriId());
+            ps.setBytes(3, s.getIp());
+            ps.setTimestamp(4, Timestamp.valueOf(s.getTimestamp()));
+        });
+        statsRollupRepository.increment(stats);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                hotWindowStore.record(stats);
+                statsQueryCache.onHitsCommitted(stats);
+                topUrisTracker.record(stats);
+            }
+        });
+    }
+}
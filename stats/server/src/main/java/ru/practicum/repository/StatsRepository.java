@@ -8,34 +8,34 @@ import ru.practicum.view.StatsView;
 import java.time.LocalDateTime;
 import java.util.List;
 
-public interface StatsRepository extends JpaRepository<Stats, Long> {
-    @Query("SELECT s.app AS app, s.uri AS uri, COUNT(DISTINCT s.ip) AS hits " +
+public interface StatsRepository extends JpaRepository<Stats, Long>, StatsBatchRepository {
+    @Query("SELECT s.appId AS appId, s.uriId AS uriId, COUNT(DISTINCT s.ip) AS hits " +
             "FROM Stats AS s " +
             "WHERE s.timestamp BETWEEN :start and :end " +
-            "GROUP BY app, uri " +
+            "GROUP BY s.appId, s.uriId " +
             "ORDER BY hits DESC")
     List<StatsView> findUniqueStats(LocalDateTime start, LocalDateTime end);
 
-    @Query("SELECT s.app AS app, s.uri AS uri, COUNT(s.ip) AS hits " +
+    @Query("SELECT s.appId AS appId, s.uriId AS uriId, COUNT(s.ip) AS hits " +
             "FROM Stats AS s " +
             "WHERE s.timestamp BETWEEN :start and :end " +
-            "GROUP BY app, uri " +
+            "GROUP BY s.appId, s.uriId " +
             "ORDER BY hits DESC")
     List<StatsView> findAllStats(LocalDateTime start, LocalDateTime end);
 
-    @Query("SELECT s.app AS app, s.uri AS uri, COUNT(DISTINCT s.ip) AS hits " +
+    @Query("SELECT s.appId AS appId, s.uriId AS uriId, COUNT(DISTINCT s.ip) AS hits " +
             "FROM Stats AS s " +
             "WHERE s.timestamp BETWEEN :start and :end " +
-            "AND uri IN :uris " +
-            "GROUP BY app, uri " +
+            "AND s.uriId IN :uriIds " +
+            "GROUP BY s.appId, s.uriId " +
             "ORDER BY hits DESC")
-    List<StatsView> findUniqueStatsWithUris(LocalDateTime start, LocalDateTime end, List<String> uris);
+    List<StatsView> findUniqueStatsWithUris(LocalDateTime start, LocalDateTime end, List<Integer> uriIds);
 
-    @Query("SELECT s.app AS app, s.uri AS uri, COUNT(s.ip) AS hits " +
+    @Query("SELECT s.appId AS appId, s.uriId AS uriId, COUNT(s.ip) AS hits " +
             "FROM Stats AS s " +
             "WHERE s.timestamp BETWEEN :start and :end " +
-            "AND uri IN :uris " +
-            "GROUP BY app, uri " +
+            "AND s.uriId IN :uriIds " +
+            "GROUP BY s.appId, s.uriId " +
             "ORDER BY hits DESC")
-    List<StatsView> findAllStatsWithUris(LocalDateTime start, LocalDateTime end, List<String> uris);
+    List<StatsView> findAllStatsWithUris(LocalDateTime start, LocalDateTime end, List<Integer> uriIds);
 }
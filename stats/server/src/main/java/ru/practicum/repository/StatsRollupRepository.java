@@ -0,0 +1,277 @@
+package ru.practicum.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.StatsResponseDto;
+import ru.practicum.dictionary.StatsDictionary;
+import ru.practicum.model.AppUri;
+import ru.practicum.model.RollupGranularity;
+import ru.practicum.model.Stats;
+import ru.practicum.sketch.HyperLogLog;
+import ru.practicum.sketch.UniqueStatsProperties;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Агрегаты хитов по минутам, часам и дням. Агрегаты обновляются в той же транзакции, что и вставка
+ * сырых хитов, по времени самого хита, поэтому опоздавшие хиты попадают в свои исторические бакеты.
+ * Пачка предварительно сворачивается по бакетам: на каждый уровень приходится один upsert и, если включены
+ * скетчи, одно чтение и одна запись скетча на различный (bucket, app, uri), а не на хит. Скетчи по умолчанию
+ * выключены: чтение и перезапись до трёх скетчей на ключ удлиняют транзакцию приёма, а бакеты, записанные
+ * до их включения, остаются без скетчей и в приближённом подсчёте не учитываются.
+ */
+@RequiredArgsConstructor
+@Repository
+public class StatsRollupRepository {
+    private static final RollupGranularity[] LEVELS = RollupGranularity.values();
+    private static final int KEYS_PER_SELECT = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final UniqueStatsProperties uniqueStatsProperties;
+    private final StatsDictionary statsDictionary;
+
+    public void increment(List<Stats> stats) {
+        for (RollupGranularity granularity : LEVELS) {
+            Map<RollupKey, Long> counts = new TreeMap<>();
+            for (Stats s : stats) {
+                counts.merge(RollupKey.of(granularity, s), 1L, Long::sum);
+            }
+
+            String sql = "INSERT INTO " + granularity.getTable() + " (bucket, app_id, uri_id, hits) " +
+                    "VALUES (:bucket, :appId, :uriId, :hits) " +
+                    "ON CONFLICT (bucket, app_id, uri_id) DO UPDATE SET hits = " + granularity.getTable() + ".hits + EXCLUDED.hits";
+
+            MapSqlParameterSource[] params = counts.entrySet().stream()
+                    .map(e -> e.getKey().toParams().addValue("hits", e.getValue()))
+                    .toArray(MapSqlParameterSource[]::new);
+
+            jdbcTemplate.batchUpdate(sql, params);
+
+            if (uniqueStatsProperties.isSketchesEnabled()) {
+                updateSketches(granularity, stats);
+            }
+        }
+    }
+
+    public List<StatsResponseDto> findStats(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        return countHits(start, end, true, uris).entrySet().stream()
+                .map(e -> new StatsResponseDto(
+                        statsDictionary.appName(e.getKey().appId()),
+                        statsDictionary.uriName(e.getKey().uriId()),
+                        e.getValue()))
+                .sorted(Comparator.comparing(StatsResponseDto::getHits).reversed())
+                .toList();
+    }
+
+    /**
+     * Количество хитов по (app, uri) за [start, end] либо за [start, end), если endInclusive = false.
+     */
+    public Map<AppUri, Long> countHits(LocalDateTime start, LocalDateTime end, boolean endInclusive, List<String> uris) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = hitsQuery(start, end, endInclusive, uris, params);
+        if (sql == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<AppUri, Long> hits = new HashMap<>();
+        jdbcTemplate.query(sql, params, rs -> {
+            hits.put(new AppUri(rs.getInt("app_id"), rs.getInt("uri_id")), rs.getLong("hits"));
+        });
+        return hits;
+    }
+
+    public List<StatsResponseDto> findUniqueStatsApproximate(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (!addUriFilter(uris, params)) {
+            return Collections.emptyList();
+        }
+        String sql = unionOfSegments(start, end, true, params,
+                "SELECT app_id, uri_id, sketch, CAST(NULL AS BYTEA) AS ip FROM ",
+                "SELECT DISTINCT app_id, uri_id, CAST(NULL AS BYTEA) AS sketch, ip FROM stats",
+                "");
+
+        Map<AppUri, HyperLogLog> sketches = new HashMap<>();
+        jdbcTemplate.query(sql, params, rs -> {
+            HyperLogLog sketch = sketches.computeIfAbsent(
+                    new AppUri(rs.getInt("app_id"), rs.getInt("uri_id")), k -> new HyperLogLog());
+            byte[] bytes = rs.getBytes("sketch");
+            if (bytes != null) {
+                sketch.merge(HyperLogLog.fromBytes(bytes));
+            } else if (rs.getBytes("ip") != null) {
+                sketch.add(rs.getBytes("ip"));
+            }
+        });
+
+        return sketches.entrySet().stream()
+                .map(e -> new StatsResponseDto(
+                        statsDictionary.appName(e.getKey().appId()),
+                        statsDictionary.uriName(e.getKey().uriId()),
+                        e.getValue().estimate()))
+                .sorted(Comparator.comparing(StatsResponseDto::getHits).reversed())
+                .toList();
+    }
+
+    /**
+     * Запрос (app_id, uri_id, hits) по агрегатам и сырым краям окна или null, если результат заведомо пуст.
+     */
+    String hitsQuery(LocalDateTime start,
+                     LocalDateTime end,
+                     boolean endInclusive,
+                     List<String> uris,
+                     MapSqlParameterSource params) {
+        if (!addUriFilter(uris, params)) {
+            return null;
+        }
+        String union = unionOfSegments(start, end, endInclusive, params,
+                "SELECT app_id, uri_id, hits FROM ",
+                "SELECT app_id, uri_id, COUNT(ip) AS hits FROM stats",
+                " GROUP BY app_id, uri_id");
+        if (union.isEmpty()) {
+            return null;
+        }
+
+        return "SELECT app_id, uri_id, SUM(hits) AS hits FROM (" + union + ") AS s " +
+                "GROUP BY app_id, uri_id";
+    }
+
+    /**
+     * Разбивает [start, end] на самые крупные бакеты, целиком лежащие внутри окна,
+     * оставляя для сырой таблицы только края короче минуты.
+     */
+    static List<Segment> decompose(LocalDateTime start, LocalDateTime end, boolean endInclusive) {
+        List<Segment> segments = new ArrayList<>();
+        split(start, end, endInclusive, 0, segments);
+        return segments;
+    }
+
+    private static void split(LocalDateTime from, LocalDateTime to, boolean inclusive, int level, List<Segment> out) {
+        if (from.isAfter(to) || (!inclusive && from.equals(to))) {
+            return;
+        }
+        if (level == LEVELS.length) {
+            out.add(new Segment(null, from, to, inclusive));
+            return;
+        }
+
+        RollupGranularity granularity = LEVELS[level];
+        LocalDateTime first = granularity.ceil(from);
+        LocalDateTime last = granularity.floor(to);
+
+        if (first.isBefore(last)) {
+            out.add(new Segment(granularity, first, last, false));
+            split(from, first, false, level + 1, out);
+            split(last, to, inclusive, level + 1, out);
+        } else {
+            split(from, to, inclusive, level + 1, out);
+        }
+    }
+
+    /**
+     * Возвращает false, если ни один из запрошенных uri ещё не встречался и результат заведомо пуст.
+     */
+    boolean addUriFilter(List<String> uris, MapSqlParameterSource params) {
+        if (uris == null || uris.isEmpty()) {
+            return true;
+        }
+        List<Integer> uriIds = uris.stream()
+                .map(statsDictionary::findUriId)
+                .flatMap(Optional::stream)
+                .toList();
+        params.addValue("uriIds", uriIds);
+        return !uriIds.isEmpty();
+    }
+
+    private String unionOfSegments(LocalDateTime start,
+                                   LocalDateTime end,
+                                   boolean endInclusive,
+                                   MapSqlParameterSource params,
+                                   String rollupSelect,
+                                   String rawSelect,
+                                   String rawGroupBy) {
+        String uriFilter = params.hasValue("uriIds") ? " AND uri_id IN (:uriIds)" : "";
+
+        List<String> parts = new ArrayList<>();
+        for (Segment segment : decompose(start, end, endInclusive)) {
+            String from = "from" + parts.size();
+            String to = "to" + parts.size();
+            params.addValue(from, Timestamp.valueOf(segment.from()));
+            params.addValue(to, Timestamp.valueOf(segment.to()));
+
+            if (segment.granularity() != null) {
+                parts.add(rollupSelect + segment.granularity().getTable() +
+                        " WHERE bucket >= :" + from + " AND bucket < :" + to + uriFilter);
+            } else {
+                parts.add(rawSelect +
+                        " WHERE timestamp >= :" + from + " AND timestamp " + (segment.inclusive() ? "<=" : "<") + " :" + to +
+                        uriFilter + rawGroupBy);
+            }
+        }
+        return String.join(" UNION ALL ", parts);
+    }
+
+    private void updateSketches(RollupGranularity granularity, List<Stats> stats) {
+        Map<RollupKey, HyperLogLog> sketches = new TreeMap<>();
+        Map<RollupKey, List<byte[]>> ips = new TreeMap<>();
+        for (Stats s : stats) {
+            ips.computeIfAbsent(RollupKey.of(granularity, s), k -> new ArrayList<>()).add(s.getIp());
+        }
+
+        // Строки бакетов уже заблокированы upsert-ом счётчиков выше, поэтому чтение и запись скетча не гонятся
+        // с параллельными транзакциями.
+        List<RollupKey> keys = new ArrayList<>(ips.keySet());
+        for (int i = 0; i < keys.size(); i += KEYS_PER_SELECT) {
+            List<Object[]> chunk = keys.subList(i, Math.min(keys.size(), i + KEYS_PER_SELECT)).stream()
+                    .map(k -> new Object[]{Timestamp.valueOf(k.bucket()), k.appId(), k.uriId()})
+                    .toList();
+
+            jdbcTemplate.query("SELECT bucket, app_id, uri_id, sketch FROM " + granularity.getTable() +
+                            " WHERE (bucket, app_id, uri_id) IN (:keys) AND sketch IS NOT NULL",
+                    new MapSqlParameterSource("keys", chunk),
+                    rs -> {
+                        RollupKey key = new RollupKey(rs.getTimestamp("bucket").toLocalDateTime(),
+                                rs.getInt("app_id"), rs.getInt("uri_id"));
+                        sketches.put(key, HyperLogLog.fromBytes(rs.getBytes("sketch")));
+                    });
+        }
+
+        MapSqlParameterSource[] params = ips.entrySet().stream()
+                .map(e -> {
+                    HyperLogLog sketch = sketches.computeIfAbsent(e.getKey(), k -> new HyperLogLog());
+                    e.getValue().forEach(sketch::add);
+                    return e.getKey().toParams().addValue("sketch", sketch.toBytes());
+                })
+                .toArray(MapSqlParameterSource[]::new);
+
+        jdbcTemplate.batchUpdate("UPDATE " + granularity.getTable() + " SET sketch = :sketch " +
+                "WHERE bucket = :bucket AND app_id = :appId AND uri_id = :uriId", params);
+    }
+
+    record Segment(RollupGranularity granularity, LocalDateTime from, LocalDateTime to, boolean inclusive) {
+    }
+
+    private record RollupKey(LocalDateTime bucket, int appId, int uriId) implements Comparable<RollupKey> {
+        private static final Comparator<RollupKey> ORDER = Comparator.comparing(RollupKey::bucket)
+                .thenComparingInt(RollupKey::appId)
+                .thenComparingInt(RollupKey::uriId);
+
+        static RollupKey of(RollupGranularity granularity, Stats stats) {
+            return new RollupKey(granularity.floor(stats.getTimestamp()), stats.getAppId(), stats.getUriId());
+        }
+
+        MapSqlParameterSource toParams() {
+            return new MapSqlParameterSource()
+                    .addValue("bucket", Timestamp.valueOf(bucket))
+                    .addValue("appId", appId)
+                    .addValue("uriId", uriId);
+        }
+
+        @Override
+        public int compareTo(RollupKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
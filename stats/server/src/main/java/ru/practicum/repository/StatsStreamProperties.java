@@ -0,0 +1,12 @@
+package ru.practicum.repository;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.stream")
+public class StatsStreamProperties {
+    private int fetchSize = 1000;
+}
@@ -0,0 +1,69 @@
+package ru.practicum.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.StatsResponseDto;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Построчная выдача статистики через курсор БД: строки читаются порциями по fetch-size и сразу
+ * передаются потребителю, имена app и uri подтягиваются в том же запросе. Курсор в PostgreSQL
+ * работает только внутри транзакции, поэтому методы транзакционные.
+ */
+@Repository
+public class StatsStreamRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final StatsRollupRepository statsRollupRepository;
+
+    public StatsStreamRepository(DataSource dataSource,
+                                 StatsRollupRepository statsRollupRepository,
+                                 StatsStreamProperties properties) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(properties.getFetchSize());
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+        this.statsRollupRepository = statsRollupRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public void streamStats(LocalDateTime start, LocalDateTime end, List<String> uris, Consumer<StatsResponseDto> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String hits = statsRollupRepository.hitsQuery(start, end, true, uris, params);
+        if (hits != null) {
+            stream(hits, params, consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris, Consumer<StatsResponseDto> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("start", Timestamp.valueOf(start))
+                .addValue("end", Timestamp.valueOf(end));
+        if (!statsRollupRepository.addUriFilter(uris, params)) {
+            return;
+        }
+        String uriFilter = params.hasValue("uriIds") ? " AND uri_id IN (:uriIds)" : "";
+
+        stream("SELECT app_id, uri_id, COUNT(DISTINCT ip) AS hits FROM stats " +
+                "WHERE timestamp BETWEEN :start AND :end" + uriFilter +
+                " GROUP BY app_id, uri_id", params, consumer);
+    }
+
+    private void stream(String hits, MapSqlParameterSource params, Consumer<StatsResponseDto> consumer) {
+        String sql = "SELECT a.name AS app, u.name AS uri, h.hits FROM (" + hits + ") AS h " +
+                "JOIN stats_app AS a ON a.id = h.app_id " +
+                "JOIN stats_uri AS u ON u.id = h.uri_id " +
+                "ORDER BY h.hits DESC";
+
+        jdbcTemplate.query(sql, params, rs -> {
+            consumer.accept(new StatsResponseDto(rs.getString("app"), rs.getString("uri"), rs.getLong("hits")));
+        });
+    }
+}
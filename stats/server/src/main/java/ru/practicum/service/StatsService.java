@@ -2,15 +2,28 @@ package ru.practicum.service;
 
 import ru.practicum.StatsRequestDto;
 import ru.practicum.StatsResponseDto;
+import ru.practicum.sketch.UniqueMode;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface StatsService {
     StatsRequestDto createHit(StatsRequestDto statsRequestDto);
 
+    void createHits(List<StatsRequestDto> statsRequestDtos);
+
     List<StatsResponseDto> getStats(LocalDateTime start,
                                     LocalDateTime end,
                                     List<String> uris,
-                                    Boolean unique);
+                                    Boolean unique,
+                                    UniqueMode uniqueMode);
+
+    StatsStream streamStats(LocalDateTime start,
+                            LocalDateTime end,
+                            List<String> uris,
+                            Boolean unique,
+                            UniqueMode uniqueMode);
+
+    List<StatsResponseDto> getTopUris(Integer k, Duration window, String app);
 }
@@ -6,24 +6,78 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.StatsRequestDto;
 import ru.practicum.StatsResponseDto;
+import ru.practicum.cache.StatsQueryCache;
+import ru.practicum.cache.StatsQueryKey;
+import ru.practicum.dictionary.StatsDictionary;
 import ru.practicum.exception.ValidationException;
+import ru.practicum.hotwindow.HotWindowResult;
+import ru.practicum.hotwindow.HotWindowStore;
+import ru.practicum.ingestion.HitIngestionQueue;
+import ru.practicum.ingestion.IngestionProperties;
 import ru.practicum.mapper.StatsMapper;
+import ru.practicum.model.AppUri;
+import ru.practicum.model.Stats;
+import ru.practicum.partition.PartitionProperties;
 import ru.practicum.repository.StatsRepository;
+import ru.practicum.repository.StatsRollupRepository;
+import ru.practicum.repository.StatsStreamRepository;
+import ru.practicum.sketch.UniqueMode;
+import ru.practicum.sketch.UniqueStatsProperties;
+import ru.practicum.trending.TopUrisTracker;
 import ru.practicum.view.StatsView;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class StatsServiceImpl implements StatsService {
     private final StatsRepository statsRepository;
+    private final StatsRollupRepository statsRollupRepository;
+    private final HitIngestionQueue hitIngestionQueue;
+    private final IngestionProperties ingestionProperties;
+    private final UniqueStatsProperties uniqueStatsProperties;
+    private final StatsDictionary statsDictionary;
+    private final HotWindowStore hotWindowStore;
+    private final StatsQueryCache statsQueryCache;
+    private final StatsStreamRepository statsStreamRepository;
+    private final TopUrisTracker topUrisTracker;
+    private final PartitionProperties partitionProperties;
 
-    @Transactional
     @Override
     public StatsRequestDto createHit(StatsRequestDto statsRequestDto) {
-        return StatsMapper.toStatsDto(statsRepository.save(StatsMapper.toStats(statsRequestDto)));
+        Stats stats = toStats(statsRequestDto);
+
+        if (hitIngestionQueue.isEnabled()) {
+            hitIngestionQueue.submit(stats);
+        } else {
+            statsRepository.saveBatch(List.of(stats));
+        }
+
+        return StatsMapper.toStatsDto(stats, statsRequestDto.getApp(), statsRequestDto.getUri());
+    }
+
+    @Override
+    public void createHits(List<StatsRequestDto> statsRequestDtos) {
+        if (statsRequestDtos.size() > ingestionProperties.getMaxBatchSize()) {
+            log.warn("Пакет из {} хитов больше допустимого размера {}", statsRequestDtos.size(), ingestionProperties.getMaxBatchSize());
+            throw new ValidationException("Пакет из " + statsRequestDtos.size() + " хитов больше допустимого размера " + ingestionProperties.getMaxBatchSize());
+        }
+        List<Stats> stats = statsRequestDtos.stream()
+                .map(this::toStats)
+                .toList();
+        if (stats.isEmpty()) {
+            return;
+        }
+
+        if (hitIngestionQueue.isEnabled()) {
+            hitIngestionQueue.submitAll(stats);
+        } else {
+            statsRepository.saveBatch(stats);
+        }
     }
 
     @Transactional(readOnly = true)
@@ -31,22 +85,196 @@ public class StatsServiceImpl implements StatsService {
     public List<StatsResponseDto> getStats(LocalDateTime start,
                                            LocalDateTime end,
                                            List<String> uris,
-                                           Boolean unique) {
+                                           Boolean unique,
+                                           UniqueMode uniqueMode) {
+        UniqueMode mode = validate(start, end, unique, uniqueMode);
+
+        StatsQueryKey key = StatsQueryKey.of(start, end, uris, unique, mode);
+        return statsQueryCache.get(key, () -> loadStats(key));
+    }
+
+    /**
+     * Отдаёт статистику построчно из курсора БД, минуя кэш и память горячего окна. Приближённый подсчёт
+     * уникальных хитов сливает скетчи в памяти и потоково не выполняется.
+     */
+    @Override
+    public StatsStream streamStats(LocalDateTime start,
+                                   LocalDateTime end,
+                                   List<String> uris,
+                                   Boolean unique,
+                                   UniqueMode uniqueMode) {
+        UniqueMode mode = validate(start, end, unique, uniqueMode);
+
+        if (!unique) {
+            return consumer -> statsStreamRepository.streamStats(start, end, uris, consumer);
+        }
+        if (mode == UniqueMode.APPROXIMATE) {
+            return consumer -> statsRollupRepository.findUniqueStatsApproximate(start, end, uris).forEach(consumer);
+        }
+        return consumer -> statsStreamRepository.streamUniqueStats(start, end, uris, consumer);
+    }
+
+    @Override
+    public List<StatsResponseDto> getTopUris(Integer k, Duration window, String app) {
+        if (!topUrisTracker.isEnabled()) {
+            log.warn("Запрошен топ uri, но он отключён");
+            throw new ValidationException("Топ uri отключён");
+        }
+        if (!topUrisTracker.supports(window)) {
+            log.warn("Окно {} не поддерживается, доступны: {}", window, topUrisTracker.getWindows());
+            throw new ValidationException("Окно " + window + " не поддерживается, доступны: " + topUrisTracker.getWindows());
+        }
+        if (k < 1 || k > topUrisTracker.getCapacity()) {
+            log.warn("Размер топа {} должен быть в границах от 1 до {}", k, topUrisTracker.getCapacity());
+            throw new ValidationException("Размер топа " + k + " должен быть в границах от 1 до " + topUrisTracker.getCapacity());
+        }
+
+        Integer appId = null;
+        if (app != null) {
+            Optional<Integer> found = statsDictionary.findAppId(app);
+            if (found.isEmpty()) {
+                return Collections.emptyList();
+            }
+            appId = found.get();
+        }
+
+        return topUrisTracker.top(k, window, appId).stream()
+                .map(e -> new StatsResponseDto(
+                        statsDictionary.appName(e.getKey().appId()),
+                        statsDictionary.uriName(e.getKey().uriId()),
+                        e.getValue()))
+                .toList();
+    }
+
+    private UniqueMode validate(LocalDateTime start, LocalDateTime end, boolean unique, UniqueMode uniqueMode) {
         if (start.isAfter(end)) {
             log.warn("Дата и время начала диапазона {} не может быть после даты и времени конца {}", start, end);
             throw new ValidationException("Дата и время начала диапазона " + start + " не может быть после даты и времени конца " + end);
         }
 
+        // Хиты и агрегаты до горизонта хранения удалены, окно с них вернуло бы заниженную статистику
+        if (partitionProperties.isEnabled() && partitionProperties.getRetentionDays() > 0) {
+            LocalDateTime horizon = LocalDate.now().minusDays(partitionProperties.getRetentionDays()).atStartOfDay();
+            if (start.isBefore(horizon)) {
+                log.warn("Дата и время начала диапазона {} раньше горизонта хранения {}", start, horizon);
+                throw new ValidationException("Дата и время начала диапазона " + start + " не может быть раньше горизонта хранения " + horizon);
+            }
+        }
+
+        UniqueMode mode = uniqueMode != null ? uniqueMode : uniqueStatsProperties.getDefaultMode();
+        if (unique && mode == UniqueMode.APPROXIMATE && !uniqueStatsProperties.isSketchesEnabled()) {
+            log.warn("Запрошен приближённый подсчёт уникальных хитов, но скетчи отключены");
+            throw new ValidationException("Приближённый подсчёт уникальных хитов отключён");
+        }
+
+        return mode;
+    }
+
+    private List<StatsResponseDto> loadStats(StatsQueryKey key) {
+        LocalDateTime start = key.start();
+        LocalDateTime end = key.end();
+        List<String> uris = key.uris();
+        boolean unique = key.unique();
+
+        if (hotWindowStore.isEnabled()) {
+            Optional<List<StatsResponseDto>> hot = getStatsWithHotWindow(start, end, uris, unique);
+            if (hot.isPresent()) {
+                return hot.get();
+            }
+        }
+
+        if (!unique) {
+            return statsRollupRepository.findStats(start, end, uris);
+        }
+
+        if (key.mode() == UniqueMode.APPROXIMATE) {
+            return statsRollupRepository.findUniqueStatsApproximate(start, end, uris);
+        }
+
         List<StatsView> statsViews;
 
-        if (uris == null || uris.isEmpty()) {
-            statsViews = unique ? statsRepository.findUniqueStats(start, end) : statsRepository.findAllStats(start, end);
+        if (uris.isEmpty()) {
+            statsViews = statsRepository.findUniqueStats(start, end);
         } else {
-            statsViews = unique ? statsRepository.findUniqueStatsWithUris(start, end, uris) : statsRepository.findAllStatsWithUris(start, end, uris);
+            List<Integer> uriIds = uris.stream()
+                    .map(statsDictionary::findUriId)
+                    .flatMap(Optional::stream)
+                    .toList();
+            if (uriIds.isEmpty()) {
+                return Collections.emptyList();
+            }
+            statsViews = statsRepository.findUniqueStatsWithUris(start, end, uriIds);
         }
 
         return statsViews.stream()
-                .map(sv -> new StatsResponseDto(sv.getApp(), sv.getUri(), sv.getHits()))
+                .map(sv -> new StatsResponseDto(
+                        statsDictionary.appName(sv.getAppId()),
+                        statsDictionary.uriName(sv.getUriId()),
+                        sv.getHits()))
                 .toList();
     }
+
+    /**
+     * Неуникальные хиты: минуты, покрытые памятью, берутся из памяти, остальное - из агрегатов в БД.
+     * Уникальные хиты по частям не складываются, поэтому отвечаются из памяти, только если она покрывает окно целиком.
+     */
+    private Optional<List<StatsResponseDto>> getStatsWithHotWindow(LocalDateTime start,
+                                                                   LocalDateTime end,
+                                                                   List<String> uris,
+                                                                   boolean unique) {
+        List<Integer> uriIds = null;
+        if (!uris.isEmpty()) {
+            uriIds = uris.stream()
+                    .map(statsDictionary::findUriId)
+                    .flatMap(Optional::stream)
+                    .toList();
+            if (uriIds.isEmpty()) {
+                return Optional.of(Collections.emptyList());
+            }
+        }
+
+        Optional<HotWindowResult> hot = hotWindowStore.query(start, end, uriIds, unique);
+        if (hot.isEmpty()) {
+            return Optional.empty();
+        }
+
+        HotWindowResult result = hot.get();
+        boolean headInDb = start.isBefore(result.from());
+        boolean tailInDb = !result.to().isAfter(end);
+        if (unique && (headInDb || tailInDb)) {
+            return Optional.empty();
+        }
+
+        Map<AppUri, Long> hits = new HashMap<>(result.hits());
+        if (headInDb) {
+            statsRollupRepository.countHits(start, result.from(), false, uris)
+                    .forEach((key, count) -> hits.merge(key, count, Long::sum));
+        }
+        if (tailInDb) {
+            statsRollupRepository.countHits(result.to(), end, true, uris)
+                    .forEach((key, count) -> hits.merge(key, count, Long::sum));
+        }
+
+        return Optional.of(hits.entrySet().stream()
+                .map(e -> new StatsResponseDto(
+                        statsDictionary.appName(e.getKey().appId()),
+                        statsDictionary.uriName(e.getKey().uriId()),
+                        e.getValue()))
+                .sorted(Comparator.comparing(StatsResponseDto::getHits).reversed())
+                .toList());
+    }
+
+    private Stats toStats(StatsRequestDto statsRequestDto) {
+        // Хит из будущего сдвинул бы границу покрытия окна в памяти за текущий момент
+        LocalDateTime latest = LocalDateTime.now().plus(ingestionProperties.getMaxClockSkew());
+        if (statsRequestDto.getTimestamp() != null && statsRequestDto.getTimestamp().isAfter(latest)) {
+            throw new ValidationException("Время хита " + statsRequestDto.getTimestamp() + " не может быть позже " + latest);
+        }
+
+        return StatsMapper.toStats(
+                statsRequestDto,
+                statsDictionary.appId(statsRequestDto.getApp()),
+                statsDictionary.uriId(statsRequestDto.getUri())
+        );
+    }
 }
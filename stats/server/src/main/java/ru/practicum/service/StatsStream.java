@@ -0,0 +1,14 @@
+package ru.practicum.service;
+
+import ru.practicum.StatsResponseDto;
+
+import java.util.function.Consumer;
+
+/**
+ * Отложенная выдача статистики: запрос к БД выполняется при вызове forEach,
+ * строки передаются потребителю по мере чтения.
+ */
+@FunctionalInterface
+public interface StatsStream {
+    void forEach(Consumer<StatsResponseDto> consumer);
+}
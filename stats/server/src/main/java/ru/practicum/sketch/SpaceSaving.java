@@ -0,0 +1,126 @@
+package ru.practicum.sketch;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Алгоритм Space-Saving для поиска самых частых ключей в потоке.
+ * <p>
+ * Хранит не более capacity счётчиков. Новый ключ при заполненной структуре занимает счётчик
+ * с минимальным значением и наследует его как погрешность, поэтому оценка частоты завышена не более
+ * чем на count / capacity для потока из count элементов, а любой ключ с частотой выше этой границы
+ * гарантированно присутствует. Счётчики сгруппированы в упорядоченный список корзин с одинаковым значением
+ * (Stream-Summary), поэтому добавление элемента выполняется за O(1). Класс не потокобезопасен.
+ */
+public class SpaceSaving {
+    private final int capacity;
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private Bucket min;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Число счётчиков должно быть положительным: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    public void add(long key) {
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() < capacity) {
+                counter = new Counter(key);
+            } else {
+                counter = min.counters.iterator().next();
+                counters.remove(counter.key);
+                counter.key = key;
+                counter.error = counter.count;
+            }
+            counters.put(key, counter);
+        }
+        increment(counter);
+    }
+
+    public void forEach(CounterVisitor visitor) {
+        counters.values().forEach(counter -> visitor.visit(counter.key, counter.count, counter.error));
+    }
+
+    public void clear() {
+        counters.clear();
+        min = null;
+    }
+
+    private void increment(Counter counter) {
+        Bucket current = counter.bucket;
+        long next = counter.count + 1;
+
+        Bucket target;
+        if (current == null) {
+            target = min != null && min.count == next ? min : link(null, min, next);
+        } else {
+            target = current.next != null && current.next.count == next ? current.next : link(current, current.next, next);
+            current.counters.remove(counter);
+            if (current.counters.isEmpty()) {
+                unlink(current);
+            }
+        }
+
+        counter.count = next;
+        counter.bucket = target;
+        target.counters.add(counter);
+    }
+
+    private Bucket link(Bucket prev, Bucket next, long count) {
+        Bucket bucket = new Bucket(count);
+        bucket.prev = prev;
+        bucket.next = next;
+        if (prev != null) {
+            prev.next = bucket;
+        } else {
+            min = bucket;
+        }
+        if (next != null) {
+            next.prev = bucket;
+        }
+        return bucket;
+    }
+
+    private void unlink(Bucket bucket) {
+        if (bucket.prev != null) {
+            bucket.prev.next = bucket.next;
+        } else {
+            min = bucket.next;
+        }
+        if (bucket.next != null) {
+            bucket.next.prev = bucket.prev;
+        }
+    }
+
+    @FunctionalInterface
+    public interface CounterVisitor {
+        void visit(long key, long count, long error);
+    }
+
+    private static final class Counter {
+        private long key;
+        private long count;
+        private long error;
+        private Bucket bucket;
+
+        Counter(long key) {
+            this.key = key;
+        }
+    }
+
+    private static final class Bucket {
+        private final long count;
+        private final Set<Counter> counters = new LinkedHashSet<>();
+        private Bucket prev;
+        private Bucket next;
+
+        Bucket(long count) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.sketch;
+
+public enum UniqueMode {
+    EXACT,
+    APPROXIMATE
+}
@@ -0,0 +1,13 @@
+package ru.practicum.sketch;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.unique")
+public class UniqueStatsProperties {
+    private boolean sketchesEnabled = false;
+    private UniqueMode defaultMode = UniqueMode.EXACT;
+}
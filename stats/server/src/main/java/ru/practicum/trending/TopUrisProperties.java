@@ -0,0 +1,18 @@
+package ru.practicum.trending;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.top")
+public class TopUrisProperties {
+    private boolean enabled = true;
+    private List<Duration> windows = List.of(Duration.ofMinutes(5), Duration.ofHours(1), Duration.ofHours(24));
+    private int slices = 12;
+    private int capacity = 1000;
+}
@@ -0,0 +1,123 @@
+package ru.practicum.trending;
+
+import org.springframework.stereotype.Component;
+import ru.practicum.model.AppUri;
+import ru.practicum.model.Stats;
+import ru.practicum.sketch.SpaceSaving;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Самые посещаемые uri за скользящие окна, по каждому сервису отдельно.
+ * <p>
+ * Окно делится на slices отрезков, на каждый отрезок заводится {@link SpaceSaving} на capacity счётчиков;
+ * отрезок, отставший на длину окна, очищается и переиспользуется. Хиты учитываются по времени приёма,
+ * а не по времени из хита, поэтому окно отражает то, что происходит сейчас. Ответ собирается слиянием
+ * не более slices x capacity счётчиков на сервис и не зависит от объёма трафика. Окно покрывается
+ * с точностью до одного отрезка.
+ */
+@Component
+public class TopUrisTracker {
+    private final TopUrisProperties properties;
+    private final Map<Integer, List<SlidingTop>> apps = new ConcurrentHashMap<>();
+
+    public TopUrisTracker(TopUrisProperties properties) {
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public boolean supports(Duration window) {
+        return properties.getWindows().contains(window);
+    }
+
+    public List<Duration> getWindows() {
+        return properties.getWindows();
+    }
+
+    public int getCapacity() {
+        return properties.getCapacity();
+    }
+
+    public void record(List<Stats> stats) {
+        if (!isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Stats s : stats) {
+            for (SlidingTop top : apps.computeIfAbsent(s.getAppId(), id -> newWindows())) {
+                top.add(s.getUriId(), now);
+            }
+        }
+    }
+
+    /**
+     * Оценки числа хитов для k самых посещаемых uri за окно, по убыванию. appId = null - по всем сервисам.
+     */
+    public List<Map.Entry<AppUri, Long>> top(int k, Duration window, Integer appId) {
+        int index = properties.getWindows().indexOf(window);
+        long now = System.currentTimeMillis();
+
+        Map<AppUri, Long> hits = new HashMap<>();
+        apps.forEach((id, windows) -> {
+            if (appId == null || appId.equals(id)) {
+                windows.get(index).collect(now, (uriId, count) -> hits.merge(new AppUri(id, uriId), count, Long::sum));
+            }
+        });
+
+        return hits.entrySet().stream()
+                .sorted(Map.Entry.<AppUri, Long>comparingByValue().reversed())
+                .limit(k)
+                .toList();
+    }
+
+    private List<SlidingTop> newWindows() {
+        return properties.getWindows().stream()
+                .map(window -> new SlidingTop(window, properties.getSlices(), properties.getCapacity()))
+                .toList();
+    }
+
+    private static final class SlidingTop {
+        private final long sliceMillis;
+        private final SpaceSaving[] slices;
+        private final long[] epochs;
+
+        SlidingTop(Duration window, int slices, int capacity) {
+            this.sliceMillis = Math.max(1, window.toMillis() / slices);
+            this.slices = new SpaceSaving[slices];
+            this.epochs = new long[slices];
+            for (int i = 0; i < slices; i++) {
+                this.slices[i] = new SpaceSaving(capacity);
+                this.epochs[i] = -1;
+            }
+        }
+
+        synchronized void add(int uriId, long now) {
+            long epoch = now / sliceMillis;
+            int index = (int) (epoch % slices.length);
+            if (epochs[index] != epoch) {
+                slices[index].clear();
+                epochs[index] = epoch;
+            }
+            slices[index].add(uriId);
+        }
+
+        synchronized void collect(long now, UriCountConsumer consumer) {
+            long oldest = now / sliceMillis - slices.length + 1;
+            for (int i = 0; i < slices.length; i++) {
+                if (epochs[i] >= oldest) {
+                    slices[i].forEach((key, count, error) -> consumer.accept((int) key, count));
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface UriCountConsumer {
+        void accept(int uriId, long count);
+    }
+}
@@ -1,9 +1,9 @@
 package ru.practicum.view;
 
 public interface StatsView {
-    String getApp();
+    Integer getAppId();
 
-    String getUri();
+    Integer getUriId();
 
     Long getHits();
 }
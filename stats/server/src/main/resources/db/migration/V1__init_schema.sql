@@ -0,0 +1,105 @@
+-- До Flyway таблица stats хранила app, uri и ip строками. Такая таблица откладывается в stats_varchar
+-- и переносится в новую схему в конце миграции.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'stats' AND column_name = 'app') THEN
+        ALTER TABLE stats RENAME TO stats_varchar;
+        ALTER TABLE stats_varchar DROP CONSTRAINT IF EXISTS pk_stats;
+    END IF;
+END $$;
+
+create TABLE IF NOT EXISTS stats_app (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    name VARCHAR (255) NOT NULL,
+    CONSTRAINT pk_stats_app PRIMARY KEY (id),
+    CONSTRAINT uq_stats_app_name UNIQUE (name)
+);
+
+create TABLE IF NOT EXISTS stats_uri (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    name VARCHAR (255) NOT NULL,
+    CONSTRAINT pk_stats_uri PRIMARY KEY (id),
+    CONSTRAINT uq_stats_uri_name UNIQUE (name)
+);
+
+create TABLE IF NOT EXISTS stats (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    app_id INTEGER NOT NULL,
+    uri_id INTEGER NOT NULL,
+    ip BYTEA NOT NULL,
+    timestamp TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_stats PRIMARY KEY (id)
+);
+
+create TABLE IF NOT EXISTS stats_minute (
+    bucket TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    app_id INTEGER NOT NULL,
+    uri_id INTEGER NOT NULL,
+    hits BIGINT NOT NULL,
+    sketch BYTEA,
+    CONSTRAINT pk_stats_minute PRIMARY KEY (bucket, app_id, uri_id)
+);
+
+create TABLE IF NOT EXISTS stats_hour (
+    bucket TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    app_id INTEGER NOT NULL,
+    uri_id INTEGER NOT NULL,
+    hits BIGINT NOT NULL,
+    sketch BYTEA,
+    CONSTRAINT pk_stats_hour PRIMARY KEY (bucket, app_id, uri_id)
+);
+
+create TABLE IF NOT EXISTS stats_day (
+    bucket TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    app_id INTEGER NOT NULL,
+    uri_id INTEGER NOT NULL,
+    hits BIGINT NOT NULL,
+    sketch BYTEA,
+    CONSTRAINT pk_stats_day PRIMARY KEY (bucket, app_id, uri_id)
+);
+
+-- Кодирование ip повторяет IpCodec: канонические IPv4 и полные IPv6 хранятся в двоичном виде,
+-- остальные строки - как текст. IPv4-mapped адреса InetAddress приводит к IPv4, поэтому они тоже текст.
+CREATE FUNCTION stats_legacy_encode_ip(ip TEXT) RETURNS BYTEA LANGUAGE plpgsql IMMUTABLE AS $$
+BEGIN
+    IF ip ~ '^(0|[1-9][0-9]{0,2})(\.(0|[1-9][0-9]{0,2})){3}$'
+            AND (SELECT bool_and(octet::INTEGER <= 255) FROM unnest(string_to_array(ip, '.')) AS octet) THEN
+        RETURN '\x04'::BYTEA || decode(lpad(to_hex(ip::INET - '0.0.0.0'::INET), 8, '0'), 'hex');
+    END IF;
+    IF ip ~ '^(0|[1-9a-f][0-9a-f]{0,3})(:(0|[1-9a-f][0-9a-f]{0,3})){7}$' AND ip !~ '^0:0:0:0:0:ffff:' THEN
+        RETURN '\x06'::BYTEA || decode((SELECT string_agg(lpad(grp, 4, '0'), '' ORDER BY n)
+                                        FROM unnest(string_to_array(ip, ':')) WITH ORDINALITY AS g(grp, n)), 'hex');
+    END IF;
+    RETURN '\x00'::BYTEA || convert_to(ip, 'UTF8');
+END $$;
+
+DO $$
+BEGIN
+    IF to_regclass('stats_varchar') IS NULL THEN
+        RETURN;
+    END IF;
+
+    INSERT INTO stats_app (name) SELECT DISTINCT app FROM stats_varchar ON CONFLICT (name) DO NOTHING;
+    INSERT INTO stats_uri (name) SELECT DISTINCT uri FROM stats_varchar ON CONFLICT (name) DO NOTHING;
+
+    INSERT INTO stats (id, app_id, uri_id, ip, timestamp)
+    SELECT l.id, a.id, u.id, stats_legacy_encode_ip(l.ip), l.timestamp
+    FROM stats_varchar l
+    JOIN stats_app a ON a.name = l.app
+    JOIN stats_uri u ON u.name = l.uri;
+
+    PERFORM setval(pg_get_serial_sequence('stats', 'id'), COALESCE((SELECT MAX(id) FROM stats), 0) + 1, false);
+
+    -- Агрегаты для перенесённых хитов, иначе неуникальная статистика за старые окна их не увидит
+    INSERT INTO stats_minute (bucket, app_id, uri_id, hits)
+    SELECT date_trunc('minute', timestamp), app_id, uri_id, COUNT(*) FROM stats GROUP BY 1, 2, 3;
+    INSERT INTO stats_hour (bucket, app_id, uri_id, hits)
+    SELECT date_trunc('hour', timestamp), app_id, uri_id, COUNT(*) FROM stats GROUP BY 1, 2, 3;
+    INSERT INTO stats_day (bucket, app_id, uri_id, hits)
+    SELECT date_trunc('day', timestamp), app_id, uri_id, COUNT(*) FROM stats GROUP BY 1, 2, 3;
+
+    DROP TABLE stats_varchar;
+END $$;
+
+DROP FUNCTION stats_legacy_encode_ip(TEXT);
@@ -0,0 +1,31 @@
+ALTER TABLE stats RENAME TO stats_legacy;
+ALTER TABLE stats_legacy RENAME CONSTRAINT pk_stats TO pk_stats_legacy;
+
+CREATE SEQUENCE stats_hit_id_seq AS BIGINT;
+
+CREATE TABLE stats (
+    id BIGINT NOT NULL DEFAULT nextval('stats_hit_id_seq'),
+    app_id INTEGER NOT NULL,
+    uri_id INTEGER NOT NULL,
+    ip BYTEA NOT NULL,
+    timestamp TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_stats PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+ALTER SEQUENCE stats_hit_id_seq OWNED BY stats.id;
+
+CREATE TABLE stats_default PARTITION OF stats DEFAULT;
+
+CREATE INDEX idx_stats_timestamp_uri ON stats (timestamp, uri_id);
+CREATE INDEX idx_stats_uri_timestamp ON stats (uri_id, timestamp) INCLUDE (app_id, ip);
+
+INSERT INTO stats (id, app_id, uri_id, ip, timestamp)
+SELECT id, app_id, uri_id, ip, timestamp FROM stats_legacy;
+
+SELECT setval('stats_hit_id_seq', COALESCE((SELECT MAX(id) FROM stats_legacy), 0) + 1, false);
+
+DROP TABLE stats_legacy;
+
+CREATE INDEX idx_stats_minute_uri_bucket ON stats_minute (uri_id, bucket);
+CREATE INDEX idx_stats_hour_uri_bucket ON stats_hour (uri_id, bucket);
+CREATE INDEX idx_stats_day_uri_bucket ON stats_day (uri_id, bucket);
@@ -0,0 +1,59 @@
+package ru.practicum.repository;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.model.RollupGranularity;
+import ru.practicum.repository.StatsRollupRepository.Segment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatsRollupRepositoryTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 5, 1, 0, 0);
+
+    @Test
+    void mustUseLargestBucketsAndLeaveShortEdgesToRawTable() {
+        LocalDateTime start = DAY.plusHours(10).plusSeconds(30);
+        LocalDateTime end = DAY.plusDays(1).plusHours(12).plusMinutes(30).plusSeconds(15);
+
+        List<Segment> segments = StatsRollupRepository.decompose(start, end, true);
+
+        assertThat(segments).containsExactly(
+                new Segment(RollupGranularity.HOUR, DAY.plusHours(11), DAY.plusDays(1).plusHours(12), false),
+                new Segment(RollupGranularity.MINUTE, DAY.plusHours(10).plusMinutes(1), DAY.plusHours(11), false),
+                new Segment(null, start, DAY.plusHours(10).plusMinutes(1), false),
+                new Segment(RollupGranularity.MINUTE, DAY.plusDays(1).plusHours(12),
+                        DAY.plusDays(1).plusHours(12).plusMinutes(30), false),
+                new Segment(null, DAY.plusDays(1).plusHours(12).plusMinutes(30), end, true));
+    }
+
+    @Test
+    void mustCoverWholeDaysWithDayBuckets() {
+        assertThat(StatsRollupRepository.decompose(DAY, DAY.plusDays(2), false))
+                .containsExactly(new Segment(RollupGranularity.DAY, DAY, DAY.plusDays(2), false));
+    }
+
+    @Test
+    void mustKeepInclusiveEndInRawTable() {
+        assertThat(StatsRollupRepository.decompose(DAY, DAY.plusDays(2), true))
+                .containsExactly(
+                        new Segment(RollupGranularity.DAY, DAY, DAY.plusDays(2), false),
+                        new Segment(null, DAY.plusDays(2), DAY.plusDays(2), true));
+    }
+
+    @Test
+    void mustReadWindowShorterThanMinuteFromRawTable() {
+        LocalDateTime start = DAY.plusSeconds(10);
+        LocalDateTime end = DAY.plusSeconds(50);
+
+        assertThat(StatsRollupRepository.decompose(start, end, true))
+                .containsExactly(new Segment(null, start, end, true));
+    }
+
+    @Test
+    void mustReturnNothingForEmptyWindow() {
+        assertThat(StatsRollupRepository.decompose(DAY.plusHours(1), DAY, true)).isEmpty();
+        assertThat(StatsRollupRepository.decompose(DAY, DAY, false)).isEmpty();
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HyperLogLogTest {
+    private static final byte SPARSE = 1;
+    private static final byte DENSE = 2;
+
+    @Test
+    void mustRoundTripSparseSketch() {
+        HyperLogLog sketch = sketchOf(0, 100);
+
+        byte[] bytes = sketch.toBytes();
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+        assertThat(bytes[0]).isEqualTo(SPARSE);
+        assertThat(restored.toBytes()).isEqualTo(bytes);
+        assertThat(restored.estimate()).isEqualTo(sketch.estimate());
+    }
+
+    @Test
+    void mustRoundTripDenseSketch() {
+        HyperLogLog sketch = sketchOf(0, 20_000);
+
+        byte[] bytes = sketch.toBytes();
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+        assertThat(bytes[0]).isEqualTo(DENSE);
+        assertThat(bytes).hasSize(2 + (1 << HyperLogLog.DEFAULT_PRECISION));
+        assertThat(restored.toBytes()).isEqualTo(bytes);
+        assertThat(restored.estimate()).isEqualTo(sketch.estimate());
+    }
+
+    @Test
+    void mustSwitchFromSparseToDenseAsSketchGrows() {
+        byte[] sparse = sketchOf(0, 100).toBytes();
+        HyperLogLog restored = HyperLogLog.fromBytes(sparse);
+        for (int i = 100; i < 20_000; i++) {
+            restored.add("192.168." + i);
+        }
+
+        byte[] dense = restored.toBytes();
+
+        assertThat(sparse[0]).isEqualTo(SPARSE);
+        assertThat(dense[0]).isEqualTo(DENSE);
+        assertThat(dense).isEqualTo(sketchOf(0, 20_000).toBytes());
+    }
+
+    @Test
+    void mustMergeSketchesLikeSingleSketch() {
+        HyperLogLog merged = sketchOf(0, 5_000);
+        merged.merge(HyperLogLog.fromBytes(sketchOf(3_000, 10_000).toBytes()));
+
+        assertThat(merged.toBytes()).isEqualTo(sketchOf(0, 10_000).toBytes());
+    }
+
+    @Test
+    void mustEstimateWithinErrorBound() {
+        int[] cardinalities = {1_000, 10_000, 100_000, 1_000_000};
+
+        for (int n : cardinalities) {
+            long estimate = sketchOf(0, n).estimate();
+
+            assertThat(Math.abs(estimate - n) / (double) n)
+                    .as("оценка %d для %d уникальных значений", estimate, n)
+                    .isLessThanOrEqualTo(3 * HyperLogLog.standardError(HyperLogLog.DEFAULT_PRECISION));
+        }
+    }
+
+    @Test
+    void mustNotCountDuplicates() {
+        HyperLogLog sketch = sketchOf(0, 1_000);
+        long estimate = sketch.estimate();
+
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add("192.168." + i);
+        }
+
+        assertThat(sketch.estimate()).isEqualTo(estimate);
+    }
+
+    @Test
+    void shouldRejectInvalidPrecisionAndMismatchedMerge() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(17));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(12).merge(new HyperLogLog(10)));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[]{3, 12}));
+    }
+
+    private static HyperLogLog sketchOf(int from, int to) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = from; i < to; i++) {
+            sketch.add("192.168." + i);
+        }
+        return sketch;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SpaceSavingTest {
+
+    @Test
+    void mustCountExactlyWhileKeysFitCapacity() {
+        SpaceSaving sketch = new SpaceSaving(3);
+        for (long key : new long[]{1, 2, 1, 3, 1, 2}) {
+            sketch.add(key);
+        }
+
+        Map<Long, Long> counts = new HashMap<>();
+        sketch.forEach((key, count, error) -> {
+            assertThat(error).isZero();
+            counts.put(key, count);
+        });
+
+        assertThat(counts).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 3L, 2L, 2L, 3L, 1L));
+    }
+
+    @Test
+    void mustKeepHeavyHittersWithinErrorBound() {
+        int capacity = 10;
+        Map<Long, Long> actual = new HashMap<>();
+        SpaceSaving sketch = new SpaceSaving(capacity);
+        long total = 0;
+        for (long i = 0; i < 1_000; i++) {
+            for (long key : new long[]{1, 2, 100 + i}) {
+                sketch.add(key);
+                actual.merge(key, 1L, Long::sum);
+                total++;
+            }
+            if (i % 2 == 0) {
+                sketch.add(1);
+                actual.merge(1L, 1L, Long::sum);
+                total++;
+            }
+        }
+        long bound = total / capacity;
+
+        Map<Long, Long> counts = new HashMap<>();
+        sketch.forEach((key, count, error) -> {
+            long frequency = actual.get(key);
+            assertThat(count).isBetween(frequency, frequency + bound);
+            assertThat(count - error).isLessThanOrEqualTo(frequency);
+            counts.put(key, count);
+        });
+
+        assertThat(counts).hasSizeLessThanOrEqualTo(capacity).containsKeys(1L, 2L);
+        assertThat(counts.get(1L)).isGreaterThan(counts.get(2L));
+    }
+
+    @Test
+    void mustForgetCountersOnClear() {
+        SpaceSaving sketch = new SpaceSaving(2);
+        sketch.add(1);
+        sketch.add(2);
+        sketch.clear();
+        sketch.add(3);
+
+        Map<Long, Long> counts = new HashMap<>();
+        sketch.forEach((key, count, error) -> counts.put(key, count));
+
+        assertThat(counts).containsExactly(Map.entry(3L, 1L));
+    }
+
+    @Test
+    void shouldRejectNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSaving(0));
+    }
+}